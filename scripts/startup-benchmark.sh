@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+# Measures time to first successful request for the JVM and, if built, the native executable.
+#
+#   mvn -DskipTests package                      # target/product-service-0.0.1-SNAPSHOT.jar
+#   mvn -Pnative -DskipTests native:compile      # target/product-service (optional)
+#   java -jar target/product-service-0.0.1-SNAPSHOT.jar --spring.profiles.active=migrate
+#   scripts/startup-benchmark.sh [runs]
+#
+# Both builds run with the fast-start profile against jdbc:postgresql://localhost:5432/products;
+# export DATABASE_USER and DATABASE_PASSWORD (they fill ${DATABASE-USER} / ${DATABASE-PASSWORD}
+# in application.yml), and SPRING_DATASOURCE_URL to point at another database.
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+URL="http://localhost:${PORT}/api/v1/products?limit=1"
+JAR=${JAR:-target/product-service-0.0.1-SNAPSHOT.jar}
+NATIVE=${NATIVE:-target/product-service}
+ARGS=(--server.port="${PORT}" --spring.profiles.active=fast-start)
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the given command, polls until the first request succeeds, prints the elapsed ms.
+time_to_first_request() {
+    local start pid
+    start=$(now_ms)
+    "$@" "${ARGS[@]}" > /dev/null 2>&1 &
+    pid=$!
+    # Connection refused is expected until the server is up, so curl stays quiet.
+    until curl -fs -o /dev/null "${URL}" 2> /dev/null; do
+        if ! kill -0 "${pid}" 2> /dev/null; then
+            echo "process exited before serving a request" >&2
+            return 1
+        fi
+        sleep 0.01
+    done
+    echo $(( $(now_ms) - start ))
+    kill "${pid}"
+    wait "${pid}" 2> /dev/null || true
+}
+
+benchmark() {
+    local name=$1
+    shift
+    local times=()
+    for _ in $(seq "${RUNS}"); do
+        times+=("$(time_to_first_request "$@")")
+    done
+    local sorted
+    sorted=$(printf '%s\n' "${times[@]}" | sort -n)
+    printf '%-7s runs=%d min=%sms median=%sms max=%sms\n' "${name}" "${RUNS}" \
+        "$(echo "${sorted}" | head -1)" \
+        "$(echo "${sorted}" | sed -n "$(( (RUNS + 1) / 2 ))p")" \
+        "$(echo "${sorted}" | tail -1)"
+}
+
+benchmark jvm java -jar "${JAR}"
+if [[ -x "${NATIVE}" ]]; then
+    benchmark native "${NATIVE}"
+else
+    echo "native  skipped, ${NATIVE} not built"
+fi
@@ -2,8 +2,13 @@ package com.project.product_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import com.project.product_service.config.ProductRuntimeHints;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(ProductRuntimeHints.class)
 public class ProductServiceApplication {
 
 	public static void main(String[] args) {
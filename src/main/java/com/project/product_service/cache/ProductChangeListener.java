@@ -0,0 +1,143 @@
+package com.project.product_service.cache;
+
+import com.project.product_service.config.CacheConfig;
+import com.project.product_service.search.ProductSearchEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps this instance's products cache and search index in step with writes made through any
+ * instance. The products trigger sends the changed id on the products_changed channel when a
+ * transaction commits, or '*' after a bulk change; this listens on a dedicated connection and
+ * evicts or reloads the affected entries.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "product.cache", name = "listen", havingValue = "true", matchIfMissing = true)
+public class ProductChangeListener implements SmartLifecycle {
+
+    public static final String CHANNEL = "products_changed";
+    public static final String ALL_PRODUCTS = "*";
+
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+    private static final long MIN_RETRY_MILLIS = 1_000;
+    private static final long MAX_RETRY_MILLIS = 30_000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final CacheManager cacheManager;
+    private final ProductSearchEngine productSearchEngine;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofPlatform().name("product-change-listener").daemon().start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            listenerThread.join(2L * POLL_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        long retryMillis = MIN_RETRY_MILLIS;
+        boolean resync = false;
+        while (running) {
+            // Not from the pool: the connection is held for as long as the instance runs.
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Notifications sent while we were not listening are lost.
+                if (resync) {
+                    changed(List.of(ALL_PRODUCTS));
+                }
+                retryMillis = MIN_RETRY_MILLIS;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        changed(Arrays.stream(notifications).map(PGNotification::getParameter).toList());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Listening for product changes failed, retrying in {} ms", retryMillis, e);
+                resync = true;
+                sleep(retryMillis);
+                retryMillis = Math.min(retryMillis * 2, MAX_RETRY_MILLIS);
+            }
+        }
+    }
+
+    // Listeners run first so tiers below the cache (the catalog snapshot) are current before entries are reloaded.
+    private void changed(List<String> payloads) {
+        eventPublisher.publishEvent(new ProductsChangedEvent(payloads));
+        apply(payloads);
+    }
+
+    void apply(Collection<String> payloads) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (payloads.contains(ALL_PRODUCTS)) {
+            if (cache != null) {
+                cache.clear();
+            }
+            productSearchEngine.reindex();
+            return;
+        }
+        // Several writes to one product can arrive in the same poll.
+        Set<Long> ids = new LinkedHashSet<>();
+        payloads.forEach(payload -> ids.add(Long.valueOf(payload)));
+        for (Long id : ids) {
+            if (cache != null) {
+                cache.evict(id);
+            }
+            productSearchEngine.refresh(id);
+        }
+        log.debug("Applied product changes for ids {}", ids);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
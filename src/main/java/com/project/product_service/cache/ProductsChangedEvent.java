@@ -0,0 +1,7 @@
+package com.project.product_service.cache;
+
+import java.util.Collection;
+
+// Published by ProductChangeListener for every batch of products_changed notifications.
+public record ProductsChangedEvent(Collection<String> payloads) {
+}
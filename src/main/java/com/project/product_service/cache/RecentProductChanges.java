@@ -0,0 +1,57 @@
+package com.project.product_service.cache;
+
+import com.project.product_service.config.ProductServiceProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers the products changed through any instance for product.datasource.replay-window. A
+ * replica can still be replaying such a change when the notification arrives, and a product loaded
+ * from it would be cached as current, so ProductService loads these from the primary instead.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecentProductChanges {
+
+    private final ProductServiceProperties properties;
+
+    // Product id to when its change was announced.
+    private final ConcurrentMap<Long, Long> changedNanos = new ConcurrentHashMap<>();
+
+    private volatile long bulkChangeNanos;
+    private volatile boolean bulkChanged;
+
+    // Published before the listener evicts, so a load after the eviction already sees the change here.
+    @EventListener
+    public void onProductsChanged(ProductsChangedEvent event) {
+        // Without replicas every load reads the primary anyway.
+        if (properties.getDatasource().getReplicas().isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        long window = properties.getDatasource().getReplayWindow().toNanos();
+        changedNanos.values().removeIf(changed -> now - changed >= window);
+        for (String payload : event.payloads()) {
+            if (payload.equals(ProductChangeListener.ALL_PRODUCTS)) {
+                bulkChangeNanos = now;
+                bulkChanged = true;
+            } else {
+                changedNanos.put(Long.valueOf(payload), now);
+            }
+        }
+    }
+
+    public boolean isRecent(Long id) {
+        long now = System.nanoTime();
+        long window = properties.getDatasource().getReplayWindow().toNanos();
+        if (bulkChanged && now - bulkChangeNanos < window) {
+            return true;
+        }
+        Long changed = changedNanos.get(id);
+        return changed != null && now - changed < window;
+    }
+}
@@ -0,0 +1,15 @@
+package com.project.product_service.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Ordered just ahead of the transaction advice, so evictions happen after commit
+// and a concurrent read cannot re-cache the row it is about to replace.
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    // Size, TTL and stats recording are configured through spring.cache.caffeine.spec.
+    public static final String PRODUCTS_CACHE = "products";
+}
@@ -0,0 +1,63 @@
+package com.project.product_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Only active when product.datasource.replicas lists at least one replica; otherwise
+// Boot's single spring.datasource pool is used unchanged.
+@Configuration
+@ConditionalOnProperty(prefix = "product.datasource", name = "replicas[0].url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            ProductServiceProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        ProductServiceProperties.Datasource datasource = properties.getDatasource();
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (ProductServiceProperties.Datasource.Replica replica : datasource.getReplicas()) {
+            // Same pool settings as the primary, so profiles that resize the pool apply to every pool.
+            HikariDataSource replicaDataSource = new HikariDataSource();
+            primaryDataSource.copyStateTo(replicaDataSource);
+            replicaDataSource.setPoolName("replica-" + (replicas.size() + 1));
+            replicaDataSource.setJdbcUrl(replica.getUrl());
+            replicaDataSource.setUsername(replica.getUsername());
+            replicaDataSource.setPassword(replica.getPassword());
+            replicaDataSource.setReadOnly(true);
+            // Boot only binds pool metrics for DataSource beans, and the replicas are not beans.
+            if (replicaDataSource.getMetricRegistry() == null && replicaDataSource.getMetricsTrackerFactory() == null) {
+                meterRegistry.ifAvailable(replicaDataSource::setMetricRegistry);
+            }
+            replicas.add(replicaDataSource);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, datasource.getReadYourWritesWindow());
+    }
+
+    @Bean
+    @Primary
+    public LazyConnectionDataSourceProxy dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
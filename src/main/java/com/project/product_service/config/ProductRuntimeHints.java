@@ -0,0 +1,22 @@
+package com.project.product_service.config;
+
+import com.project.product_service.dtos.ProductCatalogVersion;
+import com.project.product_service.dtos.ProductChangeDTO;
+import com.project.product_service.dtos.ProductDTO;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+// Native image hints for what Spring's AOT processing cannot see on its own.
+public class ProductRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Instantiated reflectively by Hibernate for the "select new ..." JPQL projections.
+        for (Class<?> type : new Class<?>[] {ProductDTO.class, ProductCatalogVersion.class, ProductChangeDTO.class}) {
+            hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        // Lets the image run Liquibase itself when the migrate job is not used.
+        hints.resources().registerPattern("db/changelog/**").registerPattern("db/data/*");
+    }
+}
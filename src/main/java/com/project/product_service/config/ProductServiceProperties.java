@@ -0,0 +1,129 @@
+package com.project.product_service.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product")
+public class ProductServiceProperties {
+
+    private Search search = new Search();
+
+    private Datasource datasource = new Datasource();
+
+    private Cache cache = new Cache();
+
+    private Coalescing coalescing = new Coalescing();
+
+    private Snapshot snapshot = new Snapshot();
+
+    private Limiter limiter = new Limiter();
+
+    @Getter
+    @Setter
+    public static class Search {
+
+        // database: pg_trgm indexed query; in-memory: trigram index held by each instance.
+        private Engine engine = Engine.DATABASE;
+
+        // Upper bound on the rows returned by a ?name= search.
+        private int maxResults = 100;
+
+        public enum Engine {
+            DATABASE,
+            IN_MEMORY
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Datasource {
+
+        // Read-only transactions are spread round-robin over these; everything else uses spring.datasource.
+        private List<Replica> replicas = new ArrayList<>();
+
+        // After a write commits, this instance sends reads to the primary for this long. Zero disables it.
+        private Duration readYourWritesWindow = Duration.ZERO;
+
+        // After another instance changes a product, this instance loads it from the primary for this
+        // long, so a replica still replaying the change is not cached as current. Zero disables it.
+        private Duration replayWindow = Duration.ofSeconds(5);
+
+        @Getter
+        @Setter
+        public static class Replica {
+
+            private String url;
+            private String username;
+            private String password;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        // LISTEN for the products_changed notifications sent by the products trigger and evict
+        // entries changed through any instance. Needs PostgreSQL.
+        private boolean listen = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Coalescing {
+
+        // Concurrent findById / name-search calls for the same key share one database query.
+        private boolean enabled = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Snapshot {
+
+        // Serve findById from a memory-mapped catalog snapshot, caught up from product_changes.
+        // Needs cache.listen, whose notifications trigger the catch-up.
+        private boolean enabled = false;
+
+        private Path path = Path.of("product-snapshot.bin");
+
+        // Whether this instance rewrites the snapshot. With several instances sharing a path, enable it on one;
+        // the others map the file again whenever its modification time changes.
+        private boolean write = true;
+
+        private Duration interval = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Limiter {
+
+        // Adaptive concurrency limits on /api/v1/products; requests over the limit get 503.
+        private boolean enabled = true;
+
+        private Limit read = new Limit(50, 10, 200);
+
+        private Limit write = new Limit(20, 5, 100);
+
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        @Getter
+        @Setter
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static class Limit {
+
+            private int initial;
+            private int min;
+            private int max;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.project.product_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to the replicas, round-robin, and everything
+ * else to the primary. The transaction's read-only flag is only set after the transaction
+ * manager asks for a connection, so this must sit behind a LazyConnectionDataSourceProxy.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<HikariDataSource> replicas;
+    private final long readYourWritesWindowNanos;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private volatile long lastWriteNanos;
+    private volatile boolean written;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, Duration readYourWritesWindow) {
+        this.replicas = replicas;
+        this.readYourWritesWindowNanos = readYourWritesWindow.toNanos();
+
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return withinReadYourWritesWindow()
+                    ? PRIMARY
+                    : Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        }
+        if (readYourWritesWindowNanos > 0 && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lastWriteNanos = System.nanoTime();
+                    written = true;
+                }
+            });
+        }
+        return PRIMARY;
+    }
+
+    private boolean withinReadYourWritesWindow() {
+        return written && System.nanoTime() - lastWriteNanos < readYourWritesWindowNanos;
+    }
+
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
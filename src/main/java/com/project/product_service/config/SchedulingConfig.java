@@ -0,0 +1,12 @@
+package com.project.product_service.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Only the catalog snapshot is scheduled; without it no scheduler thread keeps one-shot jobs such as migrate alive.
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "product.snapshot", name = "enabled", havingValue = "true")
+public class SchedulingConfig {
+}
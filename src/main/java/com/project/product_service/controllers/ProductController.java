@@ -1,7 +1,16 @@
 package com.project.product_service.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.product_service.dtos.ProductBatchResultDTO;
+import com.project.product_service.dtos.ProductCatalogVersion;
+import com.project.product_service.dtos.ProductChangesDTO;
 import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.dtos.ProductLookupDTO;
+import com.project.product_service.dtos.ProductPageDTO;
+import com.project.product_service.dtos.ProductRepriceDTO;
+import com.project.product_service.dtos.ProductRepriceResultDTO;
 import com.project.product_service.entities.Product;
+import com.project.product_service.services.ProductChangeFeedService;
 import com.project.product_service.services.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -9,22 +18,44 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 
 @RestController
 @CrossOrigin(origins = "http://your-frontend-url")
 @RequiredArgsConstructor
 @RequestMapping(path = "/api/v1/products")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ProductController {
 
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final String CBOR_ETAG_SUFFIX = "-cbor";
+    private static final String SMILE_ETAG_SUFFIX = "-smile";
+
     private final ProductService productService;
+    private final ProductChangeFeedService productChangeFeedService;
+    private final ObjectMapper objectMapper;
+    private final ContentNegotiationManager contentNegotiationManager;
 
     @Operation(summary = "Returns a list of all products")
     @ApiResponses(
@@ -42,18 +73,137 @@ public class ProductController {
                                                             implementation =
                                                                     ProductDTO.class)))
                             }),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Catalog not modified since the ETag in If-None-Match",
+                            content = @Content),
                     @ApiResponse(
                             responseCode = "404",
                             description = "Products not found",
                             content = @Content)
             })
-    @GetMapping
+    // ids and limit select different handlers; a request with both matches none of them and gets a 400.
+    @GetMapping(params = {"!ids", "!limit"})
     public List<ProductDTO> getAllProducts(
-            @RequestParam(name = "name", required = false) String name) {
-        return name == null ? productService.getAllProducts() : productService.getProductsByNameContaining(name);
+            @RequestParam(name = "name", required = false) String name, NativeWebRequest webRequest) {
+        if (name != null) {
+            return productService.getProductsByNameContaining(name);
+        }
+        // Answered from an aggregate query, without loading any products.
+        ProductCatalogVersion catalogVersion = productService.getCatalogVersion();
+        if (checkNotModified(webRequest, catalogVersion.toETag(), catalogVersion.getLastModified())) {
+            return null;
+        }
+        return productService.getAllProducts();
+    }
+
+    @Operation(summary = "Returns a page of products ordered by ID, starting after the given cursor")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Page of products",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema =
+                                            @Schema(
+                                                    implementation =
+                                                            ProductPageDTO.class))
+                            }),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid page limit",
+                            content = @Content)
+            })
+    @GetMapping(params = {"limit", "!ids"})
+    public ProductPageDTO getProductsPage(
+            @RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "limit") int limit) {
+        return productService.getProductsPage(after, limit);
     }
 
 
+    @Operation(summary = "Returns the products with the given IDs in request order, listing the IDs that do not exist")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Products found and IDs missing",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema =
+                                            @Schema(
+                                                    implementation =
+                                                            ProductLookupDTO.class))
+                            }),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "No IDs or too many IDs",
+                            content = @Content)
+            })
+    @GetMapping(params = {"ids", "!limit"})
+    public ProductLookupDTO getProductsByIds(@RequestParam(name = "ids") List<Long> ids) {
+        return productService.findByIds(ids);
+    }
+
+    @Operation(summary = "Streams the whole catalog as newline-delimited JSON, one product per line")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Product export",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                            schema =
+                                            @Schema(
+                                                    implementation =
+                                                            ProductDTO.class))
+                            })
+            })
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        StreamingResponseBody body = outputStream -> productService.exportProducts(product -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(product));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @Operation(summary = "Returns product changes committed after the given sequence number, in commit order, "
+            + "waiting up to the given number of seconds for the next one if there are none yet")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Changes after since, empty if none arrived while waiting",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema =
+                                            @Schema(
+                                                    implementation =
+                                                            ProductChangesDTO.class))
+                            }),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid limit or wait",
+                            content = @Content)
+            })
+    @GetMapping("/changes")
+    public DeferredResult<ProductChangesDTO> getProductChanges(
+            @RequestParam(name = "since", required = false) Long since,
+            @RequestParam(name = "limit", defaultValue = "1000") int limit,
+            @RequestParam(name = "wait", defaultValue = "0") long waitSeconds) {
+        return productChangeFeedService.pollChanges(since, limit, Duration.ofSeconds(waitSeconds));
+    }
+
     @Operation(summary = "Returns a product by ID")
     @ApiResponses(
             value = {
@@ -68,14 +218,22 @@ public class ProductController {
                                                     implementation =
                                                             ProductDTO.class))
                             }),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Product not modified since the ETag in If-None-Match",
+                            content = @Content),
                     @ApiResponse(
                             responseCode = "404",
                             description = "Product not found",
                             content = @Content)
             })
     @GetMapping("/{id}")
-    public ProductDTO getProductById(@PathVariable("id") Long id) {
-        return productService.findById(id);
+    public ProductDTO getProductById(@PathVariable("id") Long id, NativeWebRequest webRequest) {
+        ProductDTO product = productService.findById(id);
+        if (checkNotModified(webRequest, toETag(product.getVersion()), product.getUpdatedAt())) {
+            return null;
+        }
+        return product;
     }
 
     @Operation(summary = "Creates a new product")
@@ -108,6 +266,66 @@ public class ProductController {
         return ResponseEntity.created(location).body(createdProduct);
     }
 
+    @Operation(summary = "Creates many products in one request, reporting the outcome of each item")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "201",
+                            description = "All products created",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema =
+                                            @Schema(
+                                                    implementation =
+                                                            ProductBatchResultDTO.class))
+                            }),
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Some products were invalid and not created",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema =
+                                            @Schema(
+                                                    implementation =
+                                                            ProductBatchResultDTO.class))
+                            }),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Empty or oversized batch",
+                            content = @Content)
+            })
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductBatchResultDTO> createProducts(@RequestBody List<ProductDTO> productDTOs) {
+        ProductBatchResultDTO result = productService.addNewProducts(productDTOs);
+        return ResponseEntity.status(result.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.OK).body(result);
+    }
+
+    @Operation(summary = "Adjusts the price of many products at once by a percentage or a fixed delta")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Products repriced",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema =
+                                            @Schema(
+                                                    implementation =
+                                                            ProductRepriceResultDTO.class))
+                            }),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid selection or adjustment, a name filter matching more than 10000 products, or a price would become zero or negative; nothing was changed",
+                            content = @Content)
+            })
+    @PostMapping(path = "/reprice", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ProductRepriceResultDTO repriceProducts(@RequestBody ProductRepriceDTO reprice) {
+        return productService.repriceProducts(reprice);
+    }
+
     @Operation(summary = "Updates an existing product")
     @ApiResponses(
             value = {
@@ -125,11 +343,53 @@ public class ProductController {
                     @ApiResponse(
                             responseCode = "404",
                             description = "Product not found",
+                            content = @Content),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "Product no longer matches the ETag in If-Match",
                             content = @Content)
             })
     @PutMapping(path = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ProductDTO updateProduct(@PathVariable("id") Long id, @RequestBody ProductDTO productDTO) {
-        return productService.updateProduct(id, productDTO);
+    public ProductDTO updateProduct(
+            @PathVariable("id") Long id,
+            @RequestBody ProductDTO productDTO,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return productService.updateProduct(id, productDTO, parseETag(ifMatch));
+    }
+
+    @Operation(summary = "Updates only the fields present in the request body of an existing product")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Product updated",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema =
+                                            @Schema(
+                                                    implementation =
+                                                            ProductDTO.class))
+                            }),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid input",
+                            content = @Content),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Product not found",
+                            content = @Content),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "Product no longer matches the ETag in If-Match",
+                            content = @Content)
+            })
+    @PatchMapping(path = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json"})
+    public ProductDTO patchProduct(
+            @PathVariable("id") Long id,
+            @RequestBody ProductDTO productDTO,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return productService.patchProduct(id, productDTO, parseETag(ifMatch));
     }
 
     @Operation(summary = "Deletes a product by ID")
@@ -150,4 +410,57 @@ public class ProductController {
         return ResponseEntity.noContent().build();
     }
 
+    private static String toETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // JSON, CBOR and Smile carry the same version in different bytes, so each format gets its own
+    // strong ETag, and Vary: Accept keeps caches from answering one format with another.
+    private boolean checkNotModified(NativeWebRequest webRequest, String etag, Instant lastModified) {
+        HttpServletResponse response = webRequest.getNativeResponse(HttpServletResponse.class);
+        if (response != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        String formatETag = etag.substring(0, etag.length() - 1) + formatSuffix(webRequest) + "\"";
+        return webRequest.checkNotModified(formatETag, toEpochMilli(lastModified));
+    }
+
+    private String formatSuffix(NativeWebRequest webRequest) {
+        try {
+            // Most preferred first; JSON is checked first as it also answers */*.
+            for (MediaType mediaType : contentNegotiationManager.resolveMediaTypes(webRequest)) {
+                if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return "";
+                }
+                if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                    return CBOR_ETAG_SUFFIX;
+                }
+                if (mediaType.isCompatibleWith(SMILE)) {
+                    return SMILE_ETAG_SUFFIX;
+                }
+            }
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            // Answered with 406 once the body is written.
+        }
+        return "";
+    }
+
+    private static Long parseETag(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim().replace("\"", "");
+        // Versions are never negative, so a '-' starts the format suffix.
+        int suffix = etag.indexOf('-');
+        try {
+            return Long.valueOf(suffix < 0 ? etag : etag.substring(0, suffix));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Invalid If-Match header");
+        }
+    }
+
+    private static long toEpochMilli(Instant instant) {
+        return instant == null ? -1 : instant.toEpochMilli();
+    }
+
 }
\ No newline at end of file
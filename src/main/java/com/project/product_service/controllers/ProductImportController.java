@@ -0,0 +1,57 @@
+package com.project.product_service.controllers;
+
+import com.project.product_service.dtos.ProductImportResultDTO;
+import com.project.product_service.importer.ProductCsvImporter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/api/v1/admin/products")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ProductImportController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final ProductCsvImporter productCsvImporter;
+
+    @Operation(summary = "Bulk imports products from a CSV file with an id,name,description,price header")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Import finished, invalid rows are reported and skipped",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema = @Schema(implementation = ProductImportResultDTO.class))
+                            }),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "The file could not be imported, nothing was changed",
+                            content = @Content)
+            })
+    @PostMapping(path = "/import", consumes = TEXT_CSV_VALUE)
+    public ProductImportResultDTO importProducts(InputStream body) throws IOException {
+        // The body is streamed straight into COPY, never held in memory.
+        try (Reader csv = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            return productCsvImporter.importProducts(csv);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.project.product_service.controllers;
+
+import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.dtos.ProductPageDTO;
+import com.project.product_service.entities.ReactiveProduct;
+import com.project.product_service.services.ReactiveProductService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Mirrors ProductController on WebFlux; only registered when the reactive profile is active.
+// Lists are streamed element by element, so the client's demand drives how fast rows are read.
+@RestController
+@CrossOrigin(origins = "http://your-frontend-url")
+@RequiredArgsConstructor
+@RequestMapping(path = "/api/v1/products")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProductController {
+
+    private final ReactiveProductService reactiveProductService;
+
+    @Operation(summary = "Streams all products, or those whose name contains the given text")
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ProductDTO> getAllProducts(@RequestParam(name = "name", required = false) String name) {
+        return name == null
+                ? reactiveProductService.getAllProducts()
+                : reactiveProductService.getProductsByNameContaining(name);
+    }
+
+    @Operation(summary = "Returns a page of products ordered by ID, starting after the given cursor")
+    @GetMapping(params = "limit")
+    public Mono<ProductPageDTO> getProductsPage(
+            @RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "limit") int limit) {
+        return reactiveProductService.getProductsPage(after, limit);
+    }
+
+    @Operation(summary = "Streams the whole catalog as newline-delimited JSON, one product per line")
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductDTO> exportProducts() {
+        return reactiveProductService.getAllProducts();
+    }
+
+    @Operation(summary = "Returns a product by ID")
+    @GetMapping("/{id}")
+    public Mono<ProductDTO> getProductById(@PathVariable("id") Long id, ServerWebExchange exchange) {
+        return reactiveProductService.findById(id)
+                .flatMap(product -> exchange.checkNotModified(
+                        "\"" + product.getVersion() + "\"", product.getUpdatedAt())
+                        ? Mono.empty()
+                        : Mono.just(product));
+    }
+
+    @Operation(summary = "Creates a new product")
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ReactiveProduct>> createProduct(
+            @RequestBody ProductDTO productDTO, UriComponentsBuilder uriComponentsBuilder) {
+        return reactiveProductService.addNewProduct(productDTO)
+                .map(createdProduct -> ResponseEntity
+                        .created(uriComponentsBuilder
+                                .path("/api/v1/products/{id}")
+                                .buildAndExpand(createdProduct.getId())
+                                .toUri())
+                        .body(createdProduct));
+    }
+
+    @Operation(summary = "Updates an existing product")
+    @PutMapping(path = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ProductDTO> updateProduct(
+            @PathVariable("id") Long id,
+            @RequestBody ProductDTO productDTO,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return reactiveProductService.updateProduct(id, productDTO, parseETag(ifMatch));
+    }
+
+    @Operation(summary = "Deletes a product by ID")
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteProduct(@PathVariable("id") Long id) {
+        return reactiveProductService.deleteProduct(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+
+    private static Long parseETag(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        try {
+            return Long.valueOf(ifMatch.trim().replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Invalid If-Match header");
+        }
+    }
+}
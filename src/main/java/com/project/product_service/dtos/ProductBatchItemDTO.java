@@ -0,0 +1,21 @@
+package com.project.product_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductBatchItemDTO {
+
+    // Position of the product in the submitted list.
+    private int index;
+
+    private Long id;
+    private String error;
+}
@@ -0,0 +1,21 @@
+package com.project.product_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductBatchResultDTO {
+
+    private int created;
+    private int failed;
+    private List<ProductBatchItemDTO> items;
+}
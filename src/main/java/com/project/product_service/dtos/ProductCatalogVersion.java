@@ -0,0 +1,21 @@
+package com.project.product_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+// Position of the whole catalog in product_changes: any insert, update or delete moves it.
+@Getter
+@AllArgsConstructor
+public class ProductCatalogVersion {
+
+    private Long lastSeq;
+    private Long maxSeq;
+    // Time of the latest change; null for a catalog that was never written.
+    private Instant lastModified;
+
+    public String toETag() {
+        return "\"" + lastSeq + "-" + maxSeq + "\"";
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.product_service.dtos;
+
+import com.project.product_service.entities.ProductChange;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductChangeDTO {
+
+    private Long seq;
+    private Long productId;
+    private ProductChange.Operation operation;
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private Long version;
+    private Instant changedAt;
+}
@@ -0,0 +1,23 @@
+package com.project.product_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductChangesDTO {
+
+    // In commit order.
+    private List<ProductChangeDTO> changes;
+
+    // Seq of the last change returned, or the requested since when there were none; pass it back as ?since=.
+    private Long nextSince;
+}
@@ -0,0 +1,24 @@
+package com.project.product_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductImportResultDTO {
+
+    // Rows inserted or updated in products.
+    private long imported;
+    private long rejected;
+
+    // The first rejections, as "record <n>: <reason>" counting data rows from 1.
+    private List<String> errors;
+}
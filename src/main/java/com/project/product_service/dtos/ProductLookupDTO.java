@@ -0,0 +1,22 @@
+package com.project.product_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductLookupDTO {
+
+    // Found products, in the order their ids were requested.
+    private List<ProductDTO> items;
+
+    private List<Long> missingIds;
+}
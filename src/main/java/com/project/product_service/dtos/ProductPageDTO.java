@@ -0,0 +1,22 @@
+package com.project.product_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductPageDTO {
+
+    private List<ProductDTO> items;
+
+    // Id of the last product in this page, pass it back as ?after= to get the next one; null on the last page.
+    private Long nextCursor;
+}
@@ -0,0 +1,26 @@
+package com.project.product_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductRepriceDTO {
+
+    // Exactly one of ids and nameContains selects the products.
+    private List<Long> ids;
+    private String nameContains;
+
+    // Exactly one of percentage (e.g. -10 for 10% off) and delta adjusts the price; results are rounded to cents.
+    private BigDecimal percentage;
+    private BigDecimal delta;
+}
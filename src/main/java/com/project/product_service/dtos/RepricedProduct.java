@@ -0,0 +1,20 @@
+package com.project.product_service.dtos;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Interface projection over the RETURNING columns of a bulk reprice: no managed entities for large selections.
+public interface RepricedProduct {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    BigDecimal getPrice();
+
+    Long getVersion();
+
+    Instant getUpdatedAt();
+}
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -14,7 +15,9 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
+import java.time.Instant;
 
 @Entity
 @Table(name = "products")
@@ -25,11 +28,14 @@ import java.math.BigDecimal;
 @Builder
 public class Product {
 
+    // Shared with the reactive id allocator, which must hand out ids the same way.
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
     @SequenceGenerator(
             name = "PRODUCT_ID_SEQUENCE",
             sequenceName = "product_id_sequence",
-            allocationSize = 1)
+            allocationSize = ID_ALLOCATION_SIZE)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "PRODUCT_ID_SEQUENCE")
     @Column(name = "id", nullable = false, updatable = false)
     @Setter(AccessLevel.PRIVATE)
@@ -43,4 +49,12 @@ public class Product {
 
     @Column(name = "price", nullable = false)
     private BigDecimal price;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
 }
@@ -0,0 +1,60 @@
+package com.project.product_service.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Rows are written by the products_record_change trigger, never by the application.
+@Entity
+@Immutable
+@Table(name = "product_changes")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+public class ProductChange {
+
+    @Id
+    @Column(name = "seq", nullable = false, updatable = false)
+    private Long seq;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false)
+    private Operation operation;
+
+    // Product state after the change; null for DELETED.
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "price")
+    private BigDecimal price;
+
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    public enum Operation {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
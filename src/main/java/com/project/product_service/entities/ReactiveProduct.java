@@ -0,0 +1,35 @@
+package com.project.product_service.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// R2DBC mapping of the same products table that Product maps through JPA.
+@Table("products")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class ReactiveProduct {
+
+    @Id
+    private Long id;
+
+    private String name;
+    private String description;
+    private BigDecimal price;
+
+    @Version
+    private Long version;
+
+    private Instant updatedAt;
+}
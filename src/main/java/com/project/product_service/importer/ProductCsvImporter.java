@@ -0,0 +1,204 @@
+package com.project.product_service.importer;
+
+import com.project.product_service.cache.ProductChangeListener;
+import com.project.product_service.config.CacheConfig;
+import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.dtos.ProductImportResultDTO;
+import com.project.product_service.search.ProductSearchEngine;
+import com.project.product_service.services.ProductService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk loads a products CSV (id,name,description,price with a header row; id may be blank)
+ * in three steps on one connection and one transaction: valid rows are streamed through
+ * COPY into a temporary staging table, merged into products with a single upsert, and the
+ * id sequence is moved past the highest imported id.
+ * <p>
+ * Explicit ids of new products are not checked against the id blocks other instances have
+ * already taken from the sequence (50 ids each, handed out from memory). Such an id collides
+ * when the instance holding it inserts, so new products should come without an id, or the
+ * import should run while no other instance is inserting.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCsvImporter {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+    private static final SQLStateSQLExceptionTranslator SQL_EXCEPTION_TRANSLATOR = new SQLStateSQLExceptionTranslator();
+
+    private static final String CREATE_STAGING_TABLE =
+            "CREATE TEMPORARY TABLE products_import (line bigint, id bigint, name text, description text, price numeric) "
+                    + "ON COMMIT DROP";
+
+    private static final String COPY_INTO_STAGING_TABLE =
+            "COPY products_import (line, id, name, description, price) FROM STDIN WITH (FORMAT csv)";
+
+    // Last occurrence wins when a file lists an id twice; rows without an id get a new one.
+    // nextval hands back the top of a pooled block, which no other allocator will then use.
+    private static final String MERGE_INTO_PRODUCTS =
+            "INSERT INTO products (id, name, description, price, version, updated_at) "
+                    + "SELECT COALESCE(s.id, nextval('product_id_sequence')), s.name, s.description, s.price, 0, now() "
+                    + "FROM (SELECT DISTINCT ON (COALESCE(id, -line)) * FROM products_import "
+                    + "ORDER BY COALESCE(id, -line), line DESC) s "
+                    + "ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, description = EXCLUDED.description, "
+                    + "price = EXCLUDED.price, version = products.version + 1, updated_at = now()";
+
+    // One '*' notification at commit instead of one per merged row.
+    private static final String SUPPRESS_ROW_NOTIFICATIONS = "SET LOCAL product.suppress_notify = 'on'";
+    private static final String NOTIFY_ALL_CHANGED =
+            "SELECT pg_notify('" + ProductChangeListener.CHANNEL + "', '" + ProductChangeListener.ALL_PRODUCTS + "')";
+
+    private static final String ADVANCE_ID_SEQUENCE =
+            "SELECT setval('product_id_sequence', GREATEST((SELECT max(id) FROM products), "
+                    + "(SELECT last_value FROM product_id_sequence)))";
+
+    private final DataSource dataSource;
+    private final ProductService productService;
+    private final ProductSearchEngine productSearchEngine;
+    private final CacheManager cacheManager;
+
+    public ProductImportResultDTO importProducts(Reader csv) {
+        long start = System.nanoTime();
+        ProductImportResultDTO result;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                result = importProducts(csv, connection);
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            // commons-csv reports malformed input (e.g. an unterminated quote) as UncheckedIOException.
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Product import failed: " + e.getMessage(), e);
+        } catch (SQLException e) {
+            throw importFailed(e);
+        } catch (IOException e) {
+            // PGCopyOutputStream reports a failed COPY as an IOException caused by the SQLException.
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw importFailed(sqlException);
+            }
+            throw new UncheckedIOException(e);
+        }
+
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+        productSearchEngine.reindex();
+        log.info("Imported {} products ({} rejected) in {} ms",
+                result.getImported(), result.getRejected(), (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    private ProductImportResultDTO importProducts(Reader csv, Connection connection) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING_TABLE);
+        }
+
+        long rejected = 0;
+        List<String> errors = new ArrayList<>();
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_INTO_STAGING_TABLE);
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new PGCopyOutputStream(copyIn), StandardCharsets.UTF_8), COPY_BUFFER_SIZE);
+             CSVPrinter staging = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
+            CSVFormat format = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build();
+            for (CSVRecord record : format.parse(csv)) {
+                long line = record.getRecordNumber();
+                try {
+                    String id = record.get("id");
+                    ProductDTO productDTO = ProductDTO.builder()
+                            .name(record.get("name"))
+                            .description(record.get("description"))
+                            .price(parsePrice(record.get("price")))
+                            .build();
+                    validate(productDTO);
+                    staging.printRecord(line, id.isBlank() ? null : Long.valueOf(id.trim()),
+                            productDTO.getName(), productDTO.getDescription(), productDTO.getPrice());
+                } catch (ResponseStatusException | IllegalArgumentException e) {
+                    rejected++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        String reason = e instanceof ResponseStatusException statusException
+                                ? statusException.getReason()
+                                : e.getMessage();
+                        errors.add("record " + line + ": " + reason);
+                    }
+                }
+            }
+        }
+
+        long imported;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(SUPPRESS_ROW_NOTIFICATIONS);
+            imported = statement.executeUpdate(MERGE_INTO_PRODUCTS);
+            statement.execute(ADVANCE_ID_SEQUENCE);
+            statement.execute(NOTIFY_ALL_CHANGED);
+        }
+        return ProductImportResultDTO.builder()
+                .imported(imported)
+                .rejected(rejected)
+                .errors(errors)
+                .build();
+    }
+
+    // ProductService.validate plus the column limits of products, which COPY would otherwise
+    // only report by failing the whole import.
+    private void validate(ProductDTO productDTO) {
+        productService.validate(productDTO);
+        if (productDTO.getDescription().length() > 255) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid product description");
+        }
+        BigDecimal price = productDTO.getPrice();
+        if (price.scale() > 2 || price.precision() - price.scale() > 8) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid product price");
+        }
+    }
+
+    // Only SQLSTATE class 22 (data exception) and 23 (integrity constraint violation) are the file's
+    // fault; lost connections, lock timeouts and the like stay server errors.
+    private static RuntimeException importFailed(SQLException e) {
+        String state = e.getSQLState();
+        if (state != null && (state.startsWith("22") || state.startsWith("23"))) {
+            return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Product import failed: " + e.getMessage(), e);
+        }
+        DataAccessException translated = SQL_EXCEPTION_TRANSLATOR.translate("Product import", null, e);
+        return translated != null ? translated : new UncategorizedSQLException("Product import", null, e);
+    }
+
+    private static BigDecimal parsePrice(String price) {
+        return price.isBlank() ? null : new BigDecimal(price.trim());
+    }
+}
@@ -0,0 +1,40 @@
+package com.project.product_service.importer;
+
+import com.project.product_service.dtos.ProductImportResultDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Imports a CSV file at startup, for example as a one-off job:
+ * {@code java -jar product-service.jar --product.import.file=products.csv --spring.main.web-application-type=none}
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "product.import", name = "file")
+public class ProductImportRunner implements ApplicationRunner {
+
+    private final ProductCsvImporter productCsvImporter;
+
+    @Value("${product.import.file}")
+    private Path file;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        try (Reader csv = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            ProductImportResultDTO result = productCsvImporter.importProducts(csv);
+            log.info("Import of {}: {} imported, {} rejected", file, result.getImported(), result.getRejected());
+            result.getErrors().forEach(error -> log.warn("Import of {}: {}", file, error));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.project.product_service.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gradient concurrency limit driven by observed latency. A short-term latency average is compared
+ * with a long-term baseline: while they agree the limit grows by about sqrt(limit) per sample, and
+ * when latency rises above the baseline the limit shrinks by the same ratio. Queueing in the
+ * database then turns into fewer admitted requests instead of a longer wait for every request.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_ALPHA = 2.0 / (600 + 1);
+    private static final double SMOOTHING = 0.2;
+    // Latency may grow by this factor over the baseline before the limit shrinks.
+    private static final double TOLERANCE = 1.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortLatency;
+    private double longLatency;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limits");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release(long latencyNanos) {
+        sample(latencyNanos, inFlight.getAndDecrement());
+    }
+
+    // For requests whose latency says nothing about the backend, e.g. failures or async responses.
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    synchronized void sample(long latencyNanos, int inFlightAtCompletion) {
+        if (longLatency == 0) {
+            shortLatency = latencyNanos;
+            longLatency = latencyNanos;
+            return;
+        }
+        shortLatency += SHORT_ALPHA * (latencyNanos - shortLatency);
+        longLatency += LONG_ALPHA * (latencyNanos - longLatency);
+        // After an overload ends, bring the baseline back down faster than the average would.
+        if (longLatency > 2 * shortLatency) {
+            longLatency *= 0.95;
+        }
+        // With most of the limit unused, latency says nothing about whether the limit is right.
+        if (inFlightAtCompletion < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longLatency / shortLatency));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
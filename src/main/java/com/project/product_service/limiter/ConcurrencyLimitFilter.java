@@ -0,0 +1,90 @@
+package com.project.product_service.limiter;
+
+import com.project.product_service.config.ProductServiceProperties;
+import com.project.product_service.metrics.ProductMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Sheds load on /api/v1/products before it reaches a Tomcat thread's wait on the database.
+ * Reads and writes have separate limits, so slow writes cannot starve reads. Requests over the
+ * limit get 503 with Retry-After at once.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "product.limiter", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String PRODUCTS_PATH = "/api/v1/products";
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final ProductMetrics productMetrics;
+    private final String retryAfter;
+
+    @Autowired
+    public ConcurrencyLimitFilter(ProductServiceProperties properties, ProductMetrics productMetrics) {
+        this(create(properties.getLimiter().getRead()), create(properties.getLimiter().getWrite()),
+                properties.getLimiter().getRetryAfter(), productMetrics);
+    }
+
+    ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter readLimiter, AdaptiveConcurrencyLimiter writeLimiter,
+            Duration retryAfter, ProductMetrics productMetrics) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.productMetrics = productMetrics;
+        this.retryAfter = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        productMetrics.concurrencyLimiter("read", readLimiter);
+        productMetrics.concurrencyLimiter("write", writeLimiter);
+    }
+
+    // The changes long poll waits by design and would hold a slot for up to a minute.
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith(PRODUCTS_PATH) || path.startsWith(PRODUCTS_PATH + "/changes");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        AdaptiveConcurrencyLimiter limiter = read ? readLimiter : writeLimiter;
+        if (!limiter.tryAcquire()) {
+            productMetrics.limiterRejected(read ? "read" : "write");
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean sampled = false;
+        try {
+            filterChain.doFilter(request, response);
+            // Only successful responses measure the backend: a 5xx may have failed fast or timed out,
+            // and fast 4xx answers such as 404 or 412 would drag the latency baseline down.
+            sampled = !request.isAsyncStarted() && response.getStatus() < HttpServletResponse.SC_BAD_REQUEST;
+        } finally {
+            if (sampled) {
+                limiter.release(System.nanoTime() - start);
+            } else {
+                limiter.release();
+            }
+        }
+    }
+
+    private static AdaptiveConcurrencyLimiter create(ProductServiceProperties.Limiter.Limit limit) {
+        return new AdaptiveConcurrencyLimiter(limit.getInitial(), limit.getMin(), limit.getMax());
+    }
+}
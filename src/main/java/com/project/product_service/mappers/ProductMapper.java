@@ -4,17 +4,28 @@ import com.project.product_service.dtos.ProductDTO;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import com.project.product_service.entities.Product;
+import com.project.product_service.entities.ReactiveProduct;
 import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring")
 public interface ProductMapper {
 
-    @Mapping(target = "id", ignore = true)
     ProductDTO productToProductDTO(Product product);
 
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Product productDTOToProduct(ProductDTO productDTO);
 
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Product mapToProduct(ProductDTO productDTO, @MappingTarget Product product);
 
+    ProductDTO reactiveProductToProductDTO(ReactiveProduct product);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    ReactiveProduct productDTOToReactiveProduct(ProductDTO productDTO);
+
 }
 
@@ -0,0 +1,70 @@
+package com.project.product_service.metrics;
+
+import com.project.product_service.limiter.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Business-level meters for ProductService; method timings come from @Timed on the service itself.
+@Component
+@RequiredArgsConstructor
+public class ProductMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    // Built once per operation: registering through the builder on every call allocates each time.
+    private final Map<String, DistributionSummary> resultSizes = new ConcurrentHashMap<>();
+
+    public void notFound(String operation) {
+        meterRegistry.counter("product.not.found", "operation", operation).increment();
+    }
+
+    public void validationFailed(String field) {
+        meterRegistry.counter("product.validation.failures", "field", field).increment();
+    }
+
+    // A summary rather than a gauge, so every response is counted, not only the latest one.
+    public void resultSize(String operation, int size) {
+        resultSizes.computeIfAbsent(operation, key -> DistributionSummary.builder("product.result.size")
+                        .description("Number of products returned by a list or search call")
+                        .baseUnit("products")
+                        .tag("operation", key)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(size);
+    }
+
+    // coalesced / (coalesced + executed) per operation is the share of reads that shared another's query.
+    public void coalescing(String operation, boolean coalesced) {
+        meterRegistry.counter("product.coalescing.requests",
+                "operation", operation, "result", coalesced ? "coalesced" : "executed").increment();
+    }
+
+    public void concurrencyLimiter(String kind, AdaptiveConcurrencyLimiter limiter) {
+        Gauge.builder("product.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("kind", kind)
+                .register(meterRegistry);
+        Gauge.builder("product.limiter.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    // Queried on every scrape. Grows while a long-running or idle-in-transaction session holds the feed back.
+    public void changesFeedLag(Supplier<Number> heldBackSeconds) {
+        Gauge.builder("product.changes.feed.lag", heldBackSeconds)
+                .description("Age of the oldest committed change the changes feed cannot return yet")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public void limiterRejected(String kind) {
+        meterRegistry.counter("product.limiter.rejected", "kind", kind).increment();
+    }
+}
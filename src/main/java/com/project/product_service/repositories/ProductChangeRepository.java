@@ -0,0 +1,66 @@
+package com.project.product_service.repositories;
+
+import com.project.product_service.dtos.ProductCatalogVersion;
+import com.project.product_service.dtos.ProductChangeDTO;
+import com.project.product_service.entities.ProductChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProductChangeRepository extends JpaRepository<ProductChange, Long> {
+
+    // Rows of transactions older than every running one can no longer gain company, so reading
+    // only those, in (xid, seq) order, never skips a change that commits later. since is the seq
+    // of the last row returned; its xid is looked up to resume from the same place in that order.
+    String COMMITTED_CHANGES = "FROM product_changes c "
+            + "WHERE c.xid < pg_snapshot_xmin(pg_current_snapshot()) ";
+
+    @Query(value = "SELECT c.* " + COMMITTED_CHANGES
+            + "AND (c.xid, c.seq) > (COALESCE((SELECT s.xid FROM product_changes s WHERE s.seq = :since), '0'::xid8), :since) "
+            + "ORDER BY c.xid, c.seq LIMIT :limit", nativeQuery = true)
+    List<ProductChange> findCommittedChangesAfter(@Param("since") long since, @Param("limit") int limit);
+
+    // Position a reader starting now would resume from: the last committed change in read order.
+    @Query(value = "SELECT COALESCE((SELECT c.seq " + COMMITTED_CHANGES
+            + "ORDER BY c.xid DESC, c.seq DESC LIMIT 1), 0)", nativeQuery = true)
+    long findLastSeq();
+
+    // How long the feed has been holding back committed changes behind a transaction that is still
+    // running, in seconds; 0 when it holds back nothing.
+    @Query(value = "SELECT COALESCE(EXTRACT(EPOCH FROM now() - MIN(c.changed_at)), 0)::float8 "
+            + "FROM product_changes c WHERE c.xid >= pg_snapshot_xmin(pg_current_snapshot())", nativeQuery = true)
+    double findHeldBackSeconds();
+
+    @Query("select c from ProductChange c where c.seq = (select max(s.seq) from ProductChange s)")
+    Optional<ProductChange> findLatest();
+
+    // Every products write adds a row, so the highest seq moves on deletes too. A transaction that
+    // took a lower seq can commit after a higher one; the read position then moves once it is older
+    // than every running transaction, so both go into the catalog version.
+    default ProductCatalogVersion findCatalogVersion() {
+        Optional<ProductChange> latest = findLatest();
+        return new ProductCatalogVersion(findLastSeq(), latest.map(ProductChange::getSeq).orElse(0L),
+                latest.map(ProductChange::getChangedAt).orElse(null));
+    }
+
+    default List<ProductChangeDTO> findChangesAfter(Long since, Limit limit) {
+        return findCommittedChangesAfter(since, limit.max()).stream()
+                .map(change -> ProductChangeDTO.builder()
+                        .seq(change.getSeq())
+                        .productId(change.getProductId())
+                        .operation(change.getOperation())
+                        .name(change.getName())
+                        .description(change.getDescription())
+                        .price(change.getPrice())
+                        .version(change.getVersion())
+                        .changedAt(change.getChangedAt())
+                        .build())
+                .toList();
+    }
+}
@@ -1,15 +1,97 @@
 package com.project.product_service.repositories;
 
+import jakarta.persistence.QueryHint;
+import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.dtos.RepricedProduct;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import com.project.product_service.entities.Product;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    List<Product> findByNameContaining(String productName);
+    // Read paths select straight into ProductDTO: no managed entities, snapshots or mapper pass.
+    String SELECT_PRODUCT_DTO = "select new com.project.product_service.dtos.ProductDTO("
+            + "p.id, p.name, p.description, p.price, p.version, p.updatedAt) from Product p";
 
-}
+    @Query(SELECT_PRODUCT_DTO)
+    List<ProductDTO> findAllProductDTOs();
+
+    // Declared queries get no transaction of their own. This lookup and the name search are called
+    // outside any service transaction (coalesced loads, search), so they open a read-only one to reach
+    // a replica; inside a caller's transaction they join it and read where it reads.
+    @Transactional(readOnly = true)
+    @Query(SELECT_PRODUCT_DTO + " where p.id = :id")
+    Optional<ProductDTO> findProductDTOById(@Param("id") Long id);
+
+    @Query(SELECT_PRODUCT_DTO + " where p.id in :ids")
+    List<ProductDTO> findProductDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_PRODUCT_DTO + " where p.id > :id order by p.id")
+    List<ProductDTO> findProductDTOsByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    // Served by products_name_trgm_idx; pattern must already have LIKE wildcards escaped.
+    @Transactional(readOnly = true)
+    @Query(SELECT_PRODUCT_DTO + " where p.name like concat('%', :pattern, '%') escape '\\' "
+            + "order by function('similarity', p.name, :name) desc, p.id")
+    List<ProductDTO> searchProductDTOsByName(@Param("pattern") String pattern, @Param("name") String name, Limit limit);
+
+    // Forward-only cursor: Postgres only honours the fetch size inside a transaction.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_PRODUCT_DTO + " order by p.id")
+    Stream<ProductDTO> streamAllProductDTOs();
+
+    // Null arguments leave the column unchanged; a null expectedVersion skips the version check.
+    // Returns nothing when the product does not exist or its version differs.
+    @Transactional
+    @Query(value = "UPDATE products SET name = COALESCE(CAST(:name AS varchar), name), "
+            + "description = COALESCE(CAST(:description AS varchar), description), "
+            + "price = COALESCE(CAST(:price AS numeric), price), version = version + 1, updated_at = now() "
+            + "WHERE id = :id AND (CAST(:expectedVersion AS bigint) IS NULL OR version = CAST(:expectedVersion AS bigint)) "
+            + "RETURNING *", nativeQuery = true)
+    Optional<Product> updateProduct(
+            @Param("id") Long id,
+            @Param("name") String name,
+            @Param("description") String description,
+            @Param("price") BigDecimal price,
+            @Param("expectedVersion") Long expectedVersion);
 
+    @Transactional
+    @Modifying
+    @Query("delete from Product p where p.id = :id")
+    int deleteProductById(@Param("id") Long id);
+
+    // price = round(price * factor + delta, 2) in one statement; products_price_positive rejects the whole
+    // statement if any price would drop to zero or below.
+    String REPRICE = "UPDATE products SET price = ROUND(price * CAST(:factor AS numeric) + CAST(:delta AS numeric), 2), "
+            + "version = version + 1, updated_at = now() ";
+
+    String REPRICE_RETURNING = "RETURNING id, name, description, price, version, updated_at AS \"updatedAt\"";
+
+    @Transactional
+    @Query(value = REPRICE + "WHERE id IN (:ids) " + REPRICE_RETURNING, nativeQuery = true)
+    List<RepricedProduct> repriceByIds(
+            @Param("ids") List<Long> ids, @Param("factor") BigDecimal factor, @Param("delta") BigDecimal delta);
+
+    // Served by products_name_trgm_idx; pattern must already have LIKE wildcards escaped. Reprices at most
+    // limit matches, so callers pass one more than they accept to detect an over-broad filter.
+    @Transactional
+    @Query(value = REPRICE + "WHERE id IN (SELECT id FROM products WHERE name LIKE '%' || :pattern || '%' "
+            + "LIMIT :limit) " + REPRICE_RETURNING, nativeQuery = true)
+    List<RepricedProduct> repriceByNameContaining(@Param("pattern") String pattern,
+            @Param("factor") BigDecimal factor, @Param("delta") BigDecimal delta, @Param("limit") int limit);
+
+}
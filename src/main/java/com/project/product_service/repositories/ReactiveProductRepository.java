@@ -0,0 +1,29 @@
+package com.project.product_service.repositories;
+
+import com.project.product_service.entities.ReactiveProduct;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveProductRepository extends R2dbcRepository<ReactiveProduct, Long> {
+
+    // Same pg_trgm backed query as ProductRepository.searchByName.
+    @Query("SELECT * FROM products WHERE name LIKE '%' || :pattern || '%' "
+            + "ORDER BY similarity(name, :name) DESC, id LIMIT :limit")
+    Flux<ReactiveProduct> searchByName(
+            @Param("pattern") String pattern, @Param("name") String name, @Param("limit") int limit);
+
+    Flux<ReactiveProduct> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    Flux<ReactiveProduct> findAllByOrderByIdAsc();
+
+    @Modifying
+    @Query("DELETE FROM products WHERE id = :id")
+    Mono<Integer> deleteProductById(@Param("id") Long id);
+}
@@ -0,0 +1,23 @@
+package com.project.product_service.search;
+
+import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.repositories.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "product.search", name = "engine", havingValue = "database", matchIfMissing = true)
+public class DatabaseProductSearchEngine implements ProductSearchEngine {
+
+    private final ProductRepository productRepository;
+
+    @Override
+    public List<ProductDTO> findByNameContaining(String name, int limit) {
+        return productRepository.searchProductDTOsByName(ProductSearchEngine.escapeLike(name), name, Limit.of(limit));
+    }
+}
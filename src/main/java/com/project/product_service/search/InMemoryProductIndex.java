@@ -0,0 +1,239 @@
+package com.project.product_service.search;
+
+import com.project.product_service.dtos.ProductDTO;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram inverted index over product names. Every document gets an ordinal and each
+ * trigram of its name maps to an ascending int[] of ordinals, so a query is an
+ * intersection of its trigram postings followed by a contains() check on the survivors.
+ * Updates append a new ordinal and tombstone the old one; the index compacts itself
+ * once tombstones outnumber live documents.
+ */
+public class InMemoryProductIndex {
+
+    private static final int MIN_COMPACTION_SIZE = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[16];
+    private String[] names = new String[16];
+    private String[] descriptions = new String[16];
+    private BigDecimal[] prices = new BigDecimal[16];
+    private long[] versions = new long[16];
+    private Instant[] updatedAts = new Instant[16];
+    private int size;
+
+    private BitSet deleted = new BitSet();
+    private Map<Long, Integer> ordinalsById = new HashMap<>();
+    private Map<Long, Postings> postings = new HashMap<>();
+
+    public void put(ProductDTO product) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = ordinalsById.get(product.getId());
+            if (previous != null) {
+                deleted.set(previous);
+            }
+            append(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                    product.getVersion(), product.getUpdatedAt());
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsById.remove(id);
+            if (ordinal != null) {
+                deleted.set(ordinal);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Same semantics as the database search: case-sensitive substring match on the name,
+    // closest matches (shortest names) first.
+    public List<ProductDTO> findByNameContaining(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Integer> matches = new ArrayList<>();
+            if (query.length() < 3) {
+                for (int ordinal = 0; ordinal < size; ordinal++) {
+                    if (!deleted.get(ordinal) && names[ordinal].contains(query)) {
+                        matches.add(ordinal);
+                    }
+                }
+            } else {
+                int[] candidates = candidates(query);
+                for (int ordinal : candidates) {
+                    if (!deleted.get(ordinal) && names[ordinal].contains(query)) {
+                        matches.add(ordinal);
+                    }
+                }
+            }
+            return matches.stream()
+                    .sorted(Comparator.<Integer>comparingInt(ordinal -> names[ordinal].length())
+                            .thenComparingLong(ordinal -> ids[ordinal]))
+                    .limit(limit)
+                    .map(this::toDTO)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] candidates(String query) {
+        long[] trigrams = trigrams(query);
+        Postings[] lists = new Postings[trigrams.length];
+        for (int i = 0; i < trigrams.length; i++) {
+            lists[i] = postings.get(trigrams[i]);
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        int[] result = Arrays.copyOf(lists[0].values, lists[0].size);
+        int resultSize = result.length;
+        for (int i = 1; i < lists.length && resultSize > 0; i++) {
+            resultSize = intersect(result, resultSize, lists[i]);
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    // Intersects the first size entries of target with other in place; both are ascending.
+    private static int intersect(int[] target, int size, Postings other) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < size && j < other.size; i++) {
+            while (j < other.size && other.values[j] < target[i]) {
+                j++;
+            }
+            if (j < other.size && other.values[j] == target[i]) {
+                target[kept++] = target[i];
+            }
+        }
+        return kept;
+    }
+
+    private void append(
+            Long id, String name, String description, BigDecimal price, long version, Instant updatedAt) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            updatedAts = Arrays.copyOf(updatedAts, capacity);
+        }
+        int ordinal = size++;
+        ids[ordinal] = id;
+        names[ordinal] = name;
+        descriptions[ordinal] = description;
+        prices[ordinal] = price;
+        versions[ordinal] = version;
+        updatedAts[ordinal] = updatedAt;
+        ordinalsById.put(id, ordinal);
+        for (long trigram : trigrams(name)) {
+            postings.computeIfAbsent(trigram, key -> new Postings()).add(ordinal);
+        }
+    }
+
+    private void compactIfNeeded() {
+        int tombstones = size - ordinalsById.size();
+        if (size < MIN_COMPACTION_SIZE || tombstones <= ordinalsById.size()) {
+            return;
+        }
+        long[] oldIds = ids;
+        String[] oldNames = names;
+        String[] oldDescriptions = descriptions;
+        BigDecimal[] oldPrices = prices;
+        long[] oldVersions = versions;
+        Instant[] oldUpdatedAts = updatedAts;
+        BitSet oldDeleted = deleted;
+        int oldSize = size;
+
+        int capacity = Math.max(16, ordinalsById.size() * 2);
+        ids = new long[capacity];
+        names = new String[capacity];
+        descriptions = new String[capacity];
+        prices = new BigDecimal[capacity];
+        versions = new long[capacity];
+        updatedAts = new Instant[capacity];
+        size = 0;
+        deleted = new BitSet();
+        ordinalsById = new HashMap<>();
+        postings = new HashMap<>();
+        for (int ordinal = 0; ordinal < oldSize; ordinal++) {
+            if (!oldDeleted.get(ordinal)) {
+                append(oldIds[ordinal], oldNames[ordinal], oldDescriptions[ordinal], oldPrices[ordinal],
+                        oldVersions[ordinal], oldUpdatedAts[ordinal]);
+            }
+        }
+    }
+
+    private ProductDTO toDTO(int ordinal) {
+        return ProductDTO.builder()
+                .id(ids[ordinal])
+                .name(names[ordinal])
+                .description(descriptions[ordinal])
+                .price(prices[ordinal])
+                .version(versions[ordinal])
+                .updatedAt(updatedAts[ordinal])
+                .build();
+    }
+
+    // Distinct trigrams of value, each packed as three UTF-16 chars into one long.
+    static long[] trigrams(String value) {
+        if (value.length() < 3) {
+            return new long[0];
+        }
+        long[] trigrams = new long[value.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2);
+        }
+        return Arrays.stream(trigrams).distinct().toArray();
+    }
+
+    private static final class Postings {
+
+        private int[] values = new int[4];
+        private int size;
+
+        // Ordinals only ever grow, so appending keeps the list sorted.
+        private void add(int ordinal) {
+            if (size > 0 && values[size - 1] == ordinal) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = ordinal;
+        }
+    }
+}
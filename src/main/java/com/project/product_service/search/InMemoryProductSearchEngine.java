@@ -0,0 +1,95 @@
+package com.project.product_service.search;
+
+import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.entities.Product;
+import com.project.product_service.repositories.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "product.search", name = "engine", havingValue = "in-memory")
+public class InMemoryProductSearchEngine implements ProductSearchEngine, SmartInitializingSingleton {
+
+    private final ProductRepository productRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private volatile InMemoryProductIndex index = new InMemoryProductIndex();
+
+    // Runs before the web server starts accepting requests, so searches never see a partial index.
+    @Override
+    public void afterSingletonsInstantiated() {
+        reindex();
+    }
+
+    // Builds a fresh index off to the side and swaps it in, so searches keep working meanwhile.
+    @Override
+    public void reindex() {
+        long start = System.nanoTime();
+        InMemoryProductIndex rebuilt = new InMemoryProductIndex();
+        // Not read-only, so it reads from the primary: a replica may not have replayed the change yet.
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try (Stream<ProductDTO> products = productRepository.streamAllProductDTOs()) {
+                products.forEach(rebuilt::put);
+            }
+        });
+        index = rebuilt;
+        log.info("Indexed {} products for in-memory search in {} ms",
+                rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public List<ProductDTO> findByNameContaining(String name, int limit) {
+        return index.findByNameContaining(name, limit);
+    }
+
+    // Copied once committed: a new product's version and timestamp are only set when its insert is flushed.
+    @Override
+    public void index(Product product) {
+        afterCommit(() -> index.put(new ProductDTO(product.getId(), product.getName(), product.getDescription(),
+                product.getPrice(), product.getVersion(), product.getUpdatedAt())));
+    }
+
+    @Override
+    public void index(ProductDTO product) {
+        afterCommit(() -> index.put(product));
+    }
+
+    @Override
+    public void remove(Long id) {
+        afterCommit(() -> index.remove(id));
+    }
+
+    @Override
+    public void refresh(Long id) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                productRepository.findProductDTOById(id).ifPresentOrElse(
+                        product -> index.put(product),
+                        () -> index.remove(id)));
+    }
+
+    // A rolled back write must not leak into search results.
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
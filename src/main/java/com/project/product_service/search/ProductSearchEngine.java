@@ -0,0 +1,36 @@
+package com.project.product_service.search;
+
+import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.entities.Product;
+
+import java.util.List;
+
+public interface ProductSearchEngine {
+
+    List<ProductDTO> findByNameContaining(String name, int limit);
+
+    // Write hooks for engines that keep their own copy of the catalog.
+    default void index(Product product) {
+        index(new ProductDTO(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getVersion(), product.getUpdatedAt()));
+    }
+
+    default void index(ProductDTO product) {
+    }
+
+    default void remove(Long id) {
+    }
+
+    // Reloads one product, for a change made by another instance.
+    default void refresh(Long id) {
+    }
+
+    // Reloads everything, for bulk changes made outside ProductService.
+    default void reindex() {
+    }
+
+    // Escapes LIKE wildcards so user input is matched literally; backslash is the Postgres default escape.
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,92 @@
+package com.project.product_service.services;
+
+import com.project.product_service.cache.ProductsChangedEvent;
+import com.project.product_service.dtos.ProductChangeDTO;
+import com.project.product_service.dtos.ProductChangesDTO;
+import com.project.product_service.metrics.ProductMetrics;
+import com.project.product_service.repositories.ProductChangeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+@Slf4j
+@Service
+public class ProductChangeFeedService {
+
+    public static final int MAX_CHANGES = 1000;
+    public static final Duration MAX_WAIT = Duration.ofSeconds(60);
+
+    private final ProductChangeRepository productChangeRepository;
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    public ProductChangeFeedService(ProductChangeRepository productChangeRepository, ProductMetrics productMetrics) {
+        this.productChangeRepository = productChangeRepository;
+        productMetrics.changesFeedLag(productChangeRepository::findHeldBackSeconds);
+    }
+
+    public ProductChangesDTO getChanges(Long since, int limit) {
+        if (limit < 1 || limit > MAX_CHANGES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid changes limit");
+        }
+        long from = since == null ? 0L : since;
+        List<ProductChangeDTO> changes = productChangeRepository.findChangesAfter(from, Limit.of(limit));
+
+        return ProductChangesDTO.builder()
+                .changes(changes)
+                .nextSince(changes.isEmpty() ? from : changes.get(changes.size() - 1).getSeq())
+                .build();
+    }
+
+    // Answers at once if there are changes after since, otherwise when the next one commits or wait runs out.
+    public DeferredResult<ProductChangesDTO> pollChanges(Long since, int limit, Duration wait) {
+        if (wait.isNegative() || wait.compareTo(MAX_WAIT) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid wait");
+        }
+        ProductChangesDTO changes = getChanges(since, limit);
+        DeferredResult<ProductChangesDTO> result = new DeferredResult<>(wait.toMillis(), changes);
+        if (!changes.getChanges().isEmpty() || wait.isZero()) {
+            result.setResult(changes);
+            return result;
+        }
+
+        Waiter waiter = new Waiter(changes.getNextSince(), limit, result);
+        waiters.add(waiter);
+        result.onCompletion(() -> waiters.remove(waiter));
+        // A change that committed after the query above but before we registered sends no further event.
+        complete(waiter);
+        return result;
+    }
+
+    @EventListener
+    public void onProductsChanged(ProductsChangedEvent event) {
+        waiters.forEach(this::complete);
+    }
+
+    private void complete(Waiter waiter) {
+        if (waiter.result().isSetOrExpired()) {
+            return;
+        }
+        try {
+            ProductChangesDTO changes = getChanges(waiter.since(), waiter.limit());
+            if (!changes.getChanges().isEmpty()) {
+                waiter.result().setResult(changes);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to read product changes after {}", waiter.since(), e);
+            waiter.result().setErrorResult(e);
+        }
+    }
+
+    private record Waiter(Long since, int limit, DeferredResult<ProductChangesDTO> result) {
+    }
+}
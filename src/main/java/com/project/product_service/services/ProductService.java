@@ -1,102 +1,394 @@
 package com.project.product_service.services;
 
+import com.project.product_service.cache.RecentProductChanges;
+import com.project.product_service.config.CacheConfig;
+import com.project.product_service.config.ProductServiceProperties;
 import com.project.product_service.entities.Product;
 import com.project.product_service.mappers.ProductMapper;
+import com.project.product_service.metrics.ProductMetrics;
+import com.project.product_service.search.ProductSearchEngine;
+import com.project.product_service.snapshot.ProductSnapshotStore;
+import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.util.StringUtils;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
+import com.project.product_service.dtos.ProductBatchItemDTO;
+import com.project.product_service.dtos.ProductBatchResultDTO;
+import com.project.product_service.dtos.ProductCatalogVersion;
 import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.dtos.ProductLookupDTO;
+import com.project.product_service.dtos.ProductPageDTO;
+import com.project.product_service.dtos.ProductRepriceDTO;
+import com.project.product_service.dtos.ProductRepriceResultDTO;
+import com.project.product_service.dtos.RepricedProduct;
+import com.project.product_service.repositories.ProductChangeRepository;
 import com.project.product_service.repositories.ProductRepository;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "product.service", histogram = true)
 public class ProductService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_BATCH_SIZE = 10000;
+    public static final int MAX_LOOKUP_SIZE = 1000;
+
+    // Same as hibernate.jdbc.batch_size, so each flush sends exactly one JDBC batch.
+    private static final int BATCH_FLUSH_SIZE = 50;
+
     private final ProductRepository productRepository;
+    private final ProductChangeRepository productChangeRepository;
     private final ProductMapper productMapper;
+    private final EntityManager entityManager;
+    private final ProductServiceProperties properties;
+    private final ProductSearchEngine productSearchEngine;
+    private final ProductMetrics productMetrics;
+    private final CacheManager cacheManager;
+    private final RequestCoalescer requestCoalescer;
+    private final ProductSnapshotStore productSnapshotStore;
+    private final RecentProductChanges recentProductChanges;
+    private final PlatformTransactionManager transactionManager;
 
+    @Transactional(readOnly = true)
     public List<ProductDTO> getAllProducts() {
-        return productRepository.findAll().stream()
-                .map(productMapper::productToProductDTO)
-                .collect(Collectors.toList());
+        List<ProductDTO> products = productRepository.findAllProductDTOs();
+        productMetrics.resultSize("getAllProducts", products.size());
+        return products;
+    }
+
+    // One transaction, so both positions are read from the same database.
+    @Transactional(readOnly = true)
+    public ProductCatalogVersion getCatalogVersion() {
+        return productChangeRepository.findCatalogVersion();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportProducts(Consumer<ProductDTO> consumer) {
+        try (Stream<ProductDTO> products = productRepository.streamAllProductDTOs()) {
+            products.forEach(consumer);
+        }
     }
 
+    public ProductPageDTO getProductsPage(Long after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page limit");
+        }
+        // One extra row tells us whether there is a next page without a count query.
+        List<ProductDTO> products = productRepository.findProductDTOsByIdGreaterThan(
+                after == null ? 0L : after, Limit.of(limit + 1));
+        boolean hasNext = products.size() > limit;
+        List<ProductDTO> page = hasNext ? products.subList(0, limit) : products;
+
+        return ProductPageDTO.builder()
+                .items(page)
+                .nextCursor(hasNext ? page.get(page.size() - 1).getId() : null)
+                .build();
+    }
+
+    // No service-level transaction here or in getProductsByNameContaining: callers waiting on a
+    // coalesced query would each hold a connection for nothing. The repository method opens its own
+    // read-only transaction, so the load still goes to a replica.
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#p0")
     public ProductDTO findById(Long uuid) {
-        return productMapper.productToProductDTO(
-                productRepository
-                        .findById(uuid)
-                        .orElseThrow(() ->
-                                new ElementNotFoundException("Product with uuid " + uuid + " not found")));
+        ProductDTO snapshotProduct = productSnapshotStore.find(uuid);
+        if (snapshotProduct != null) {
+            return snapshotProduct;
+        }
+        // Not coalesced: a query already running may read a replica that has not replayed the change.
+        if (recentProductChanges.isRecent(uuid)) {
+            return onPrimary(() -> productRepository.findProductDTOById(uuid)).orElseThrow(() -> notFound(uuid));
+        }
+        return requestCoalescer.execute("findById", uuid, () -> productRepository
+                .findProductDTOById(uuid)
+                .orElseThrow(() -> notFound(uuid)));
+    }
+
+    private ElementNotFoundException notFound(Long uuid) {
+        productMetrics.notFound("findById");
+        return new ElementNotFoundException("Product with uuid " + uuid + " not found");
+    }
+
+    // A new read-write transaction, which the routing data source always sends to the primary.
+    private <T> T onPrimary(Supplier<T> query) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template.execute(status -> query.get());
+    }
+
+    // Served from the products cache where possible; all misses are fetched with one query and cached.
+    @Transactional(readOnly = true)
+    public ProductLookupDTO findByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_LOOKUP_SIZE || ids.stream().anyMatch(Objects::isNull)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid product ids");
+        }
+        LinkedHashSet<Long> requestedIds = new LinkedHashSet<>(ids);
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+
+        Map<Long, ProductDTO> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : requestedIds) {
+            ProductDTO cached = cache == null ? null : cache.get(id, ProductDTO.class);
+            if (cached == null) {
+                cached = productSnapshotStore.find(id);
+            }
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            Map<Boolean, List<Long>> byRecentChange = misses.stream()
+                    .collect(Collectors.partitioningBy(recentProductChanges::isRecent));
+            List<ProductDTO> loaded = new ArrayList<>();
+            if (!byRecentChange.get(false).isEmpty()) {
+                loaded.addAll(productRepository.findProductDTOsByIdIn(byRecentChange.get(false)));
+            }
+            if (!byRecentChange.get(true).isEmpty()) {
+                loaded.addAll(onPrimary(() -> productRepository.findProductDTOsByIdIn(byRecentChange.get(true))));
+            }
+            for (ProductDTO product : loaded) {
+                found.put(product.getId(), product);
+                if (cache != null) {
+                    cache.put(product.getId(), product);
+                }
+            }
+        }
+
+        List<ProductDTO> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            ProductDTO product = found.get(id);
+            if (product != null) {
+                items.add(product);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        productMetrics.resultSize("findByIds", items.size());
+        if (!missingIds.isEmpty()) {
+            productMetrics.notFound("findByIds");
+        }
+
+        return ProductLookupDTO.builder()
+                .items(items)
+                .missingIds(missingIds)
+                .build();
     }
 
     public List<ProductDTO> getProductsByNameContaining(String name) {
-        List<ProductDTO> products = productRepository.findByNameContaining(name).stream()
-                .map(productMapper::productToProductDTO)
-                .collect(Collectors.toList());
+        List<ProductDTO> products = requestCoalescer.execute("getProductsByNameContaining", name,
+                () -> productSearchEngine.findByNameContaining(name, properties.getSearch().getMaxResults()));
 
+        productMetrics.resultSize("getProductsByNameContaining", products.size());
         if (products.isEmpty()) {
+            productMetrics.notFound("getProductsByNameContaining");
             throw new ElementNotFoundException("Product with name containing '" + name + "' not found");
         }
 
         return products;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#result.id")
     public Product addNewProduct(ProductDTO productDTO) {
         validate(productDTO);
         Product newProduct = productMapper.productDTOToProduct(productDTO);
         //newProduct.setId(UUID.randomUUID());
         productRepository.save(newProduct);
+        productSearchEngine.index(newProduct);
         return newProduct;
     }
 
+    @Transactional
+    public ProductBatchResultDTO addNewProducts(List<ProductDTO> productDTOs) {
+        if (productDTOs == null || productDTOs.isEmpty() || productDTOs.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid batch size");
+        }
+        List<ProductBatchItemDTO> items = new ArrayList<>(productDTOs.size());
+        int created = 0;
+        for (int i = 0; i < productDTOs.size(); i++) {
+            ProductDTO productDTO = productDTOs.get(i);
+            try {
+                validate(productDTO);
+            } catch (ResponseStatusException e) {
+                items.add(ProductBatchItemDTO.builder().index(i).error(e.getReason()).build());
+                continue;
+            }
+            Product newProduct = productRepository.save(productMapper.productDTOToProduct(productDTO));
+            productSearchEngine.index(newProduct);
+            items.add(ProductBatchItemDTO.builder().index(i).id(newProduct.getId()).build());
+            if (++created % BATCH_FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        return ProductBatchResultDTO.builder()
+                .created(created)
+                .failed(productDTOs.size() - created)
+                .items(items)
+                .build();
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#p0")
     public void deleteProduct(Long id) {
-        Product product =
-                productRepository
-                        .findById(id)
-                        .orElseThrow(
-                                () ->
-                                        new ResponseStatusException(
-                                                HttpStatus.NOT_FOUND,
-                                                "Product with id " + id + " does not exist."));
-        productRepository.deleteById(id);
+        if (productRepository.deleteProductById(id) == 0) {
+            productMetrics.notFound("deleteProduct");
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product with id " + id + " does not exist.");
+        }
+        productSnapshotStore.invalidate(id, null);
+        productSearchEngine.remove(id);
     }
 
     @Transactional
-    public ProductDTO updateProduct(Long id, ProductDTO newProductDTO) {
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#p0")
+    public ProductDTO updateProduct(Long id, ProductDTO newProductDTO, Long expectedVersion) {
         validate(newProductDTO);
-        Product existingProduct =
-                productRepository
-                        .findById(id)
-                        .orElseThrow(
-                                () ->
-                                        new ResponseStatusException(
-                                                HttpStatus.NOT_FOUND,
-                                                "Product with id " + id + " does not exist."));
+        return update(id, newProductDTO, expectedVersion, "updateProduct");
+    }
+
+    // Only the fields set in changes are updated.
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#p0")
+    public ProductDTO patchProduct(Long id, ProductDTO changes, Long expectedVersion) {
+        if (changes == null) {
+            productMetrics.validationFailed("product");
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid product");
+        }
+        if (changes.getName() != null) {
+            validateName(changes.getName());
+        }
+        if (changes.getDescription() != null) {
+            validateDescription(changes.getDescription());
+        }
+        if (changes.getPrice() != null) {
+            validatePrice(changes.getPrice());
+        }
+        return update(id, changes, expectedVersion, "patchProduct");
+    }
 
-        productMapper.mapToProduct(newProductDTO, existingProduct);
-        productRepository.save(existingProduct);
+    // One UPDATE ... RETURNING on success; the version check is part of its WHERE clause.
+    private ProductDTO update(Long id, ProductDTO changes, Long expectedVersion, String operation) {
+        Product updatedProduct = productRepository
+                .updateProduct(id, changes.getName(), changes.getDescription(), changes.getPrice(), expectedVersion)
+                .orElseThrow(() -> {
+                    if (expectedVersion != null && productRepository.existsById(id)) {
+                        return new ResponseStatusException(
+                                HttpStatus.PRECONDITION_FAILED, "Product with id " + id + " has been modified.");
+                    }
+                    productMetrics.notFound(operation);
+                    return new ResponseStatusException(
+                            HttpStatus.NOT_FOUND, "Product with id " + id + " does not exist.");
+                });
+        productSnapshotStore.invalidate(id, updatedProduct.getVersion());
+        productSearchEngine.index(updatedProduct);
 
-        return productMapper.productToProductDTO(existingProduct);
+        return productMapper.productToProductDTO(updatedProduct);
+    }
+
+    // One set-based UPDATE for the whole selection, all or nothing.
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, allEntries = true)
+    public ProductRepriceResultDTO repriceProducts(ProductRepriceDTO reprice) {
+        if (reprice == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid reprice selection");
+        }
+        List<Long> ids = reprice.getIds();
+        boolean byName = StringUtils.isNotBlank(reprice.getNameContains());
+        if ((ids == null) != byName || (ids != null && (ids.isEmpty() || ids.size() > MAX_BATCH_SIZE))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid reprice selection");
+        }
+        BigDecimal percentage = reprice.getPercentage();
+        if ((percentage == null) == (reprice.getDelta() == null)
+                || (percentage != null && percentage.compareTo(BigDecimal.valueOf(-100)) <= 0)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid price adjustment");
+        }
+        BigDecimal factor = percentage == null ? BigDecimal.ONE : BigDecimal.ONE.add(percentage.movePointLeft(2));
+        BigDecimal delta = reprice.getDelta() == null ? BigDecimal.ZERO : reprice.getDelta();
+
+        List<RepricedProduct> repricedProducts;
+        try {
+            repricedProducts = ids != null
+                    ? productRepository.repriceByIds(ids, factor, delta)
+                    : productRepository.repriceByNameContaining(
+                            ProductSearchEngine.escapeLike(reprice.getNameContains()), factor, delta,
+                            MAX_BATCH_SIZE + 1);
+        } catch (DataIntegrityViolationException e) {
+            productMetrics.validationFailed("price");
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Price adjustment would leave a price out of range", e);
+        }
+        // Rolls back the partial update: a name filter may not select more than an id list could.
+        if (repricedProducts.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Name filter matches more than " + MAX_BATCH_SIZE + " products");
+        }
+        for (RepricedProduct product : repricedProducts) {
+            productSnapshotStore.invalidate(product.getId(), product.getVersion());
+            productSearchEngine.index(new ProductDTO(product.getId(), product.getName(), product.getDescription(),
+                    product.getPrice(), product.getVersion(), product.getUpdatedAt()));
+        }
+
+        return ProductRepriceResultDTO.builder()
+                .updated(repricedProducts.size())
+                .build();
     }
 
     public void validate(ProductDTO productDTO) {
-        if (StringUtils.isBlank(productDTO.getName()) || productDTO.getName().length() > 255) {
+        if (productDTO == null) {
+            productMetrics.validationFailed("product");
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid product");
+        }
+        validateName(productDTO.getName());
+        validateDescription(productDTO.getDescription());
+        validatePrice(productDTO.getPrice());
+    }
+
+    private void validateName(String name) {
+        if (StringUtils.isBlank(name) || name.length() > 255) {
+            productMetrics.validationFailed("name");
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid product name");
         }
-        if (StringUtils.isBlank(productDTO.getDescription())) {
+    }
+
+    private void validateDescription(String description) {
+        if (StringUtils.isBlank(description)) {
+            productMetrics.validationFailed("description");
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid product description");
         }
-        if (productDTO.getPrice() == null || productDTO.getPrice().compareTo(BigDecimal.valueOf(0.0)) <= 0) {
+    }
+
+    private void validatePrice(BigDecimal price) {
+        if (price == null || price.compareTo(BigDecimal.valueOf(0.0)) <= 0) {
+            productMetrics.validationFailed("price");
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid product price");
         }
     }
 }
-
@@ -0,0 +1,58 @@
+package com.project.product_service.services;
+
+import com.project.product_service.entities.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out product ids from product_id_sequence exactly like Hibernate's pooled optimizer
+ * does for Product: each nextval is the top of a block of {@link Product#ID_ALLOCATION_SIZE}
+ * ids, so reactive and servlet instances can insert into the same table without clashing.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProductIdAllocator {
+
+    private final DatabaseClient databaseClient;
+
+    private final AtomicReference<Block> block = new AtomicReference<>(new Block(1, 0));
+
+    public Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            Block current = block.get();
+            long id = current.next.getAndIncrement();
+            if (id <= current.hi) {
+                return Mono.just(id);
+            }
+            // Callers racing past an exhausted block each fetch their own; ids are never
+            // shared, at worst the tail of an overwritten block goes unused.
+            return databaseClient.sql("SELECT nextval('product_id_sequence')")
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .map(hi -> {
+                        Block fresh = new Block(hi - Product.ID_ALLOCATION_SIZE + 1, hi);
+                        long first = fresh.next.getAndIncrement();
+                        block.set(fresh);
+                        return first;
+                    });
+        });
+    }
+
+    private static final class Block {
+
+        private final AtomicLong next;
+        private final long hi;
+
+        private Block(long next, long hi) {
+            this.next = new AtomicLong(next);
+            this.hi = hi;
+        }
+    }
+}
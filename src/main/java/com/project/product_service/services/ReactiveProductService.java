@@ -0,0 +1,113 @@
+package com.project.product_service.services;
+
+import com.project.product_service.config.ProductServiceProperties;
+import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.dtos.ProductPageDTO;
+import com.project.product_service.entities.ReactiveProduct;
+import com.project.product_service.mappers.ProductMapper;
+import com.project.product_service.repositories.ReactiveProductRepository;
+import com.project.product_service.search.ProductSearchEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+// Non-blocking counterpart of ProductService; validation rules are shared with it.
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProductService {
+
+    private final ReactiveProductRepository reactiveProductRepository;
+    private final ReactiveProductIdAllocator idAllocator;
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+    private final ProductMapper productMapper;
+    private final ProductService productService;
+    private final ProductServiceProperties properties;
+
+    public Flux<ProductDTO> getAllProducts() {
+        return reactiveProductRepository.findAllByOrderByIdAsc()
+                .map(productMapper::reactiveProductToProductDTO);
+    }
+
+    public Mono<ProductPageDTO> getProductsPage(Long after, int limit) {
+        if (limit < 1 || limit > ProductService.MAX_PAGE_SIZE) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page limit"));
+        }
+        return reactiveProductRepository
+                .findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, PageRequest.ofSize(limit + 1))
+                .collectList()
+                .map(products -> {
+                    boolean hasNext = products.size() > limit;
+                    var page = hasNext ? products.subList(0, limit) : products;
+                    return ProductPageDTO.builder()
+                            .items(page.stream().map(productMapper::reactiveProductToProductDTO).toList())
+                            .nextCursor(hasNext ? page.get(page.size() - 1).getId() : null)
+                            .build();
+                });
+    }
+
+    public Mono<ProductDTO> findById(Long id) {
+        return reactiveProductRepository.findById(id)
+                .map(productMapper::reactiveProductToProductDTO)
+                .switchIfEmpty(Mono.error(() ->
+                        new ElementNotFoundException("Product with uuid " + id + " not found")));
+    }
+
+    public Flux<ProductDTO> getProductsByNameContaining(String name) {
+        return reactiveProductRepository
+                .searchByName(ProductSearchEngine.escapeLike(name), name, properties.getSearch().getMaxResults())
+                .map(productMapper::reactiveProductToProductDTO)
+                .switchIfEmpty(Flux.error(() ->
+                        new ElementNotFoundException("Product with name containing '" + name + "' not found")));
+    }
+
+    public Mono<ReactiveProduct> addNewProduct(ProductDTO productDTO) {
+        return Mono.fromRunnable(() -> productService.validate(productDTO))
+                .then(idAllocator.nextId())
+                .flatMap(id -> {
+                    ReactiveProduct newProduct = productMapper.productDTOToReactiveProduct(productDTO);
+                    newProduct.setId(id);
+                    newProduct.setUpdatedAt(Instant.now());
+                    // insert() rather than save(): the id is already set, so save() would issue an UPDATE.
+                    return r2dbcEntityTemplate.insert(newProduct);
+                });
+    }
+
+    public Mono<Void> deleteProduct(Long id) {
+        return reactiveProductRepository.deleteProductById(id)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.error(new ResponseStatusException(
+                                HttpStatus.NOT_FOUND, "Product with id " + id + " does not exist."))
+                        : Mono.empty());
+    }
+
+    public Mono<ProductDTO> updateProduct(Long id, ProductDTO newProductDTO, Long expectedVersion) {
+        return Mono.fromRunnable(() -> productService.validate(newProductDTO))
+                .then(reactiveProductRepository.findById(id))
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Product with id " + id + " does not exist.")))
+                .flatMap(existingProduct -> {
+                    if (expectedVersion != null && !expectedVersion.equals(existingProduct.getVersion())) {
+                        return Mono.error(new ResponseStatusException(
+                                HttpStatus.PRECONDITION_FAILED, "Product with id " + id + " has been modified."));
+                    }
+                    existingProduct.setName(newProductDTO.getName());
+                    existingProduct.setDescription(newProductDTO.getDescription());
+                    existingProduct.setPrice(newProductDTO.getPrice());
+                    existingProduct.setUpdatedAt(Instant.now());
+                    return reactiveProductRepository.save(existingProduct);
+                })
+                .onErrorMap(OptimisticLockingFailureException.class, e -> new ResponseStatusException(
+                        HttpStatus.CONFLICT, "Product with id " + id + " was modified concurrently.", e))
+                .map(productMapper::reactiveProductToProductDTO);
+    }
+}
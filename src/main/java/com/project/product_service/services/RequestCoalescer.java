@@ -0,0 +1,70 @@
+package com.project.product_service.services;
+
+import com.project.product_service.config.ProductServiceProperties;
+import com.project.product_service.metrics.ProductMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for reads: while a load for an (operation, key) pair is running, other callers
+ * asking for the same pair wait for it and get its result, or its exception, instead of running
+ * the load themselves. Nothing is kept once the load finishes; caching is a separate concern.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestCoalescer {
+
+    private final ProductServiceProperties properties;
+    private final ProductMetrics productMetrics;
+
+    private final ConcurrentMap<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <V> V execute(String operation, Object key, Supplier<V> loader) {
+        if (!properties.getCoalescing().isEnabled()) {
+            return loader.get();
+        }
+        FlightKey flightKey = new FlightKey(operation, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            productMetrics.coalescing(operation, true);
+            return (V) await(existing);
+        }
+
+        productMetrics.coalescing(operation, false);
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private record FlightKey(String operation, Object key) {
+    }
+}
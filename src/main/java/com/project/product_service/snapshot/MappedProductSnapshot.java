@@ -0,0 +1,131 @@
+package com.project.product_service.snapshot;
+
+import com.project.product_service.dtos.ProductDTO;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Read-only view of a catalog snapshot file, memory-mapped so lookups touch no heap beyond the
+ * returned DTO. Layout, all big-endian:
+ * <pre>
+ * header  (32 bytes)  magic, format version, record count, unused (ints); last product_changes seq, created at (longs)
+ * records (48 bytes each, sorted by id)
+ *                     id, version, updated at (epoch millis), price in cents (longs);
+ *                     name offset, name length, description offset, description length (ints, into the heap)
+ * heap                UTF-8 names and descriptions
+ * </pre>
+ * A single mapping caps the file at 2 GB. Only absolute reads are used, so concurrent readers are safe.
+ */
+public final class MappedProductSnapshot {
+
+    static final int MAGIC = 0x50534E50;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 48;
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final long lastSeq;
+    private final Instant createdAt;
+    private final int heapStart;
+
+    private MappedProductSnapshot(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.count = buffer.getInt(8);
+        this.lastSeq = buffer.getLong(16);
+        this.createdAt = Instant.ofEpochMilli(buffer.getLong(24));
+        this.heapStart = HEADER_SIZE + count * RECORD_SIZE;
+    }
+
+    public static MappedProductSnapshot open(Path path) throws IOException {
+        // The mapping stays valid after the channel is closed.
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a product snapshot: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int count = buffer.getInt(8);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION
+                    || count < 0 || HEADER_SIZE + (long) count * RECORD_SIZE > size) {
+                throw new IOException("Not a product snapshot: " + path);
+            }
+            checkRecords(buffer, count, size, path);
+            return new MappedProductSnapshot(buffer);
+        }
+    }
+
+    // One pass over the records at open, so a truncated or corrupt file is rejected here instead of
+    // failing lookups later: ids must ascend and every string must lie inside the heap.
+    private static void checkRecords(MappedByteBuffer buffer, int count, long size, Path path) throws IOException {
+        long heapSize = size - HEADER_SIZE - (long) count * RECORD_SIZE;
+        for (int i = 0; i < count; i++) {
+            int position = HEADER_SIZE + i * RECORD_SIZE;
+            if ((i > 0 && buffer.getLong(position) <= buffer.getLong(position - RECORD_SIZE))
+                    || !inHeap(buffer.getInt(position + 32), buffer.getInt(position + 36), heapSize)
+                    || !inHeap(buffer.getInt(position + 40), buffer.getInt(position + 44), heapSize)) {
+                throw new IOException("Corrupt product snapshot " + path + " at record " + i);
+            }
+        }
+    }
+
+    private static boolean inHeap(int offset, int length, long heapSize) {
+        return offset >= 0 && length >= 0 && (long) offset + length <= heapSize;
+    }
+
+    // Binary search over the fixed-width records; null if the id is not in the snapshot.
+    public ProductDTO find(long id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int position = HEADER_SIZE + mid * RECORD_SIZE;
+            long midId = buffer.getLong(position);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return read(position);
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // Changes after this seq in product_changes are not in the snapshot.
+    public long getLastSeq() {
+        return lastSeq;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    private ProductDTO read(int position) {
+        return ProductDTO.builder()
+                .id(buffer.getLong(position))
+                .version(buffer.getLong(position + 8))
+                .updatedAt(Instant.ofEpochMilli(buffer.getLong(position + 16)))
+                .price(BigDecimal.valueOf(buffer.getLong(position + 24), 2))
+                .name(string(buffer.getInt(position + 32), buffer.getInt(position + 36)))
+                .description(string(buffer.getInt(position + 40), buffer.getInt(position + 44)))
+                .build();
+    }
+
+    private String string(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(heapStart + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
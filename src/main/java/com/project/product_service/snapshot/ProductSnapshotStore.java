@@ -0,0 +1,279 @@
+package com.project.product_service.snapshot;
+
+import com.project.product_service.cache.ProductsChangedEvent;
+import com.project.product_service.config.ProductServiceProperties;
+import com.project.product_service.dtos.ProductChangeDTO;
+import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.entities.ProductChange;
+import com.project.product_service.repositories.ProductChangeRepository;
+import com.project.product_service.repositories.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Answers findById from a memory-mapped catalog snapshot, so a fresh instance serves reads as soon
+ * as the file is mapped. Changes committed after the snapshot are read from product_changes by a
+ * background catch-up, and then on every products_changed notification, into an on-heap overlay.
+ * Until the first catch-up finishes, reads can be as old as the snapshot. Every new snapshot, written
+ * here or by another instance, replaces the overlay with one caught up from that snapshot's position.
+ * <p>
+ * Products written through this instance are marked once the write commits and go to the database
+ * until the snapshot or the overlay shows the written version, so this instance always reads its own
+ * writes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSnapshotStore implements SmartInitializingSingleton {
+
+    private static final int CATCH_UP_PAGE_SIZE = 1000;
+    // Marker version of a local delete.
+    private static final long DELETED = -1;
+
+    private final ProductServiceProperties properties;
+    private final ProductRepository productRepository;
+    private final ProductChangeRepository productChangeRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // Product id to the version this instance wrote; outlives snapshot swaps.
+    private final ConcurrentMap<Long, Long> pendingWrites = new ConcurrentHashMap<>();
+
+    // Guards lastSeq and serializes catch-ups and swaps. Not a monitor: both run JDBC and file I/O,
+    // which would pin the carrier of a virtual thread (scheduled tasks run on them with virtual threads on).
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile State state;
+    private long lastSeq;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        ProductServiceProperties.Snapshot config = properties.getSnapshot();
+        if (!config.isEnabled()) {
+            return;
+        }
+        // Notifications are the only trigger for catch-up; without them the overlay would stop moving.
+        if (!properties.getCache().isListen()) {
+            throw new IllegalStateException("product.snapshot.enabled requires product.cache.listen");
+        }
+        if (!Files.exists(config.getPath())) {
+            return;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(config.getPath());
+            MappedProductSnapshot snapshot = MappedProductSnapshot.open(config.getPath());
+            lock.lock();
+            try {
+                state = new State(snapshot, new ConcurrentHashMap<>(), modified);
+                lastSeq = snapshot.getLastSeq();
+            } finally {
+                lock.unlock();
+            }
+            log.info("Mapped product snapshot of {} products from {}", snapshot.size(), snapshot.getCreatedAt());
+            Thread.ofPlatform().name("product-snapshot-catch-up").daemon().start(this::catchUp);
+        } catch (IOException e) {
+            log.warn("Could not map product snapshot {}", config.getPath(), e);
+        }
+    }
+
+    // Null when the snapshot cannot answer; the caller then reads the database.
+    public ProductDTO find(Long id) {
+        State current = state;
+        if (current == null || pendingWrites.containsKey(id)) {
+            return null;
+        }
+        return current.find(id);
+    }
+
+    // Called after this instance changes a product; version is the one written, null for a delete.
+    // Marked only once the write commits, since a rolled back version would never show up to clear it.
+    public void invalidate(Long id, Long version) {
+        if (!properties.getSnapshot().isEnabled()) {
+            return;
+        }
+        long written = version == null ? DELETED : version;
+        afterCommit(() -> pendingWrites.compute(id, (key, existing) -> {
+            State current = state;
+            return current != null && shows(current.find(key), written) ? null : written;
+        }));
+    }
+
+    @EventListener
+    public void onProductsChanged(ProductsChangedEvent event) {
+        catchUp();
+    }
+
+    void catchUp() {
+        lock.lock();
+        try {
+            State current = state;
+            if (current == null) {
+                return;
+            }
+            lastSeq = catchUp(current, lastSeq);
+        } catch (RuntimeException e) {
+            log.warn("Catching up the product snapshot failed at seq {}", lastSeq, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Applies the changes after seq to the overlay and returns the position reached. Reads from the
+    // primary: a lagging replica would leave the overlay behind the notification.
+    private long catchUp(State target, long seq) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            long position = seq;
+            List<ProductChangeDTO> changes;
+            do {
+                changes = productChangeRepository.findChangesAfter(position, Limit.of(CATCH_UP_PAGE_SIZE));
+                for (ProductChangeDTO change : changes) {
+                    ProductDTO product = toProduct(change);
+                    target.overlay().put(change.getProductId(), new Entry(product));
+                    // A later delete by anyone also settles a pending update.
+                    pendingWrites.computeIfPresent(change.getProductId(),
+                            (id, written) -> product == null || shows(product, written) ? null : written);
+                    position = change.getSeq();
+                }
+            } while (changes.size() == CATCH_UP_PAGE_SIZE);
+            return position;
+        });
+    }
+
+    // The writing instance writes a new snapshot; the others map it once its modification time changes.
+    @Scheduled(fixedDelayString = "${product.snapshot.interval:PT5M}", initialDelayString = "${product.snapshot.interval:PT5M}")
+    public void refreshSnapshot() {
+        ProductServiceProperties.Snapshot config = properties.getSnapshot();
+        if (!config.isEnabled()) {
+            return;
+        }
+        if (config.isWrite()) {
+            writeSnapshot();
+        } else {
+            reloadSnapshot();
+        }
+    }
+
+    void writeSnapshot() {
+        Path path = properties.getSnapshot().getPath();
+        // One repeatable-read transaction, so the products and the outbox position agree.
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        try {
+            template.executeWithoutResult(status -> {
+                long seq = productChangeRepository.findLastSeq();
+                try (Stream<ProductDTO> products = productRepository.streamAllProductDTOs()) {
+                    int count = ProductSnapshotWriter.write(path, seq, products.iterator());
+                    log.info("Wrote product snapshot of {} products up to change {}", count, seq);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            swap(path);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Writing the product snapshot to {} failed", path, e);
+        }
+    }
+
+    void reloadSnapshot() {
+        Path path = properties.getSnapshot().getPath();
+        try {
+            if (!Files.exists(path)) {
+                return;
+            }
+            State current = state;
+            if (current != null && Files.getLastModifiedTime(path).equals(current.modified())) {
+                return;
+            }
+            swap(path);
+            log.info("Mapped product snapshot of {} products from {}",
+                    state.snapshot().size(), state.snapshot().getCreatedAt());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Reloading the product snapshot from {} failed", path, e);
+        }
+    }
+
+    // Maps the file and catches a fresh overlay up from the snapshot's own position before switching
+    // over, so the swap never serves older data than before. The old mapping is released by GC.
+    private void swap(Path path) throws IOException {
+        lock.lock();
+        try {
+            FileTime modified = Files.getLastModifiedTime(path);
+            MappedProductSnapshot snapshot = MappedProductSnapshot.open(path);
+            State swapped = new State(snapshot, new ConcurrentHashMap<>(), modified);
+            long seq = catchUp(swapped, snapshot.getLastSeq());
+            state = swapped;
+            lastSeq = seq;
+            pendingWrites.forEach((id, written) -> pendingWrites.computeIfPresent(id,
+                    (key, pending) -> shows(swapped.find(key), pending) ? null : pending));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int overlaySize() {
+        State current = state;
+        return current == null ? 0 : current.overlay().size();
+    }
+
+    // Whether product, as this instance would serve it, already reflects the written version.
+    private static boolean shows(ProductDTO product, long written) {
+        return written == DELETED ? product == null : product != null && product.getVersion() >= written;
+    }
+
+    private static ProductDTO toProduct(ProductChangeDTO change) {
+        return change.getOperation() == ProductChange.Operation.DELETED ? null : ProductDTO.builder()
+                .id(change.getProductId())
+                .name(change.getName())
+                .description(change.getDescription())
+                .price(change.getPrice())
+                .version(change.getVersion())
+                .updatedAt(change.getChangedAt())
+                .build();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record State(MappedProductSnapshot snapshot, ConcurrentMap<Long, Entry> overlay, FileTime modified) {
+
+        ProductDTO find(Long id) {
+            Entry entry = overlay.get(id);
+            return entry != null ? entry.product() : snapshot.find(id);
+        }
+    }
+
+    // product is null for a deleted product.
+    private record Entry(ProductDTO product) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.project.product_service.snapshot;
+
+import com.project.product_service.dtos.ProductDTO;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+// Writes the MappedProductSnapshot format. Records and heap are spooled to temporary files so
+// the catalog is never held in memory, then joined behind the header and moved into place atomically.
+public final class ProductSnapshotWriter {
+
+    private ProductSnapshotWriter() {
+    }
+
+    // products must be ordered by id.
+    public static int write(Path target, long lastSeq, Iterator<ProductDTO> products) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path records = Files.createTempFile(directory, "products", ".records");
+        Path heap = Files.createTempFile(directory, "products", ".heap");
+        Path snapshot = Files.createTempFile(directory, "products", ".snapshot");
+        try {
+            int count = 0;
+            long heapSize = 0;
+            try (DataOutputStream recordsOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(records)));
+                 OutputStream heapOut = new BufferedOutputStream(Files.newOutputStream(heap))) {
+                while (products.hasNext()) {
+                    ProductDTO product = products.next();
+                    byte[] name = product.getName().getBytes(StandardCharsets.UTF_8);
+                    byte[] description = product.getDescription().getBytes(StandardCharsets.UTF_8);
+                    recordsOut.writeLong(product.getId());
+                    recordsOut.writeLong(product.getVersion());
+                    recordsOut.writeLong(product.getUpdatedAt().toEpochMilli());
+                    recordsOut.writeLong(product.getPrice().movePointRight(2).longValueExact());
+                    recordsOut.writeInt((int) heapSize);
+                    recordsOut.writeInt(name.length);
+                    recordsOut.writeInt((int) heapSize + name.length);
+                    recordsOut.writeInt(description.length);
+                    heapOut.write(name);
+                    heapOut.write(description);
+                    heapSize += name.length + description.length;
+                    count++;
+                    if (MappedProductSnapshot.HEADER_SIZE + (long) count * MappedProductSnapshot.RECORD_SIZE + heapSize
+                            > Integer.MAX_VALUE) {
+                        throw new IOException("Catalog does not fit in a single 2 GB snapshot mapping");
+                    }
+                }
+            }
+
+            try (FileChannel out = FileChannel.open(snapshot, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = ByteBuffer.allocate(MappedProductSnapshot.HEADER_SIZE)
+                        .putInt(MappedProductSnapshot.MAGIC)
+                        .putInt(MappedProductSnapshot.FORMAT_VERSION)
+                        .putInt(count)
+                        .putInt(0)
+                        .putLong(lastSeq)
+                        .putLong(System.currentTimeMillis())
+                        .flip();
+                while (header.hasRemaining()) {
+                    out.write(header);
+                }
+                append(records, out);
+                append(heap, out);
+                out.force(true);
+            }
+            Files.move(snapshot, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return count;
+        } finally {
+            Files.deleteIfExists(records);
+            Files.deleteIfExists(heap);
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+    private static void append(Path source, FileChannel out) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long position = 0;
+            long size = in.size();
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.project.product_service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.boot.WebApplicationType;
+
+import com.project.product_service.controllers.ProductController;
+import com.project.product_service.controllers.ReactiveProductController;
+import com.project.product_service.services.ProductService;
+import com.project.product_service.services.ReactiveProductService;
+import com.project.product_service.support.EmbeddedProductService;
+import io.r2dbc.spi.ConnectionFactory;
+
+// Boots the whole service in both variants against an embedded PostgreSQL.
+public class ProductServiceStartupTest {
+
+    @Test
+    void testStartsServletVariant() throws IOException {
+        try (EmbeddedProductService service = EmbeddedProductService.start(WebApplicationType.SERVLET, Map.of())) {
+            Long id = service.seed(1).get(0);
+
+            assertEquals(id, service.getBean(ProductService.class).findById(id).getId());
+            service.getBean(ProductController.class);
+            assertThrows(NoSuchBeanDefinitionException.class, () -> service.getBean(ConnectionFactory.class));
+        }
+    }
+
+    @Test
+    void testStartsReactiveVariant() throws IOException {
+        try (EmbeddedProductService service = EmbeddedProductService.start(WebApplicationType.REACTIVE,
+                Map.of("spring.profiles.active", "reactive"))) {
+            // Written through JPA, read back through R2DBC.
+            Long id = service.seed(1).get(0);
+
+            assertEquals(id, service.getBean(ReactiveProductService.class).findById(id).block().getId());
+            service.getBean(ReactiveProductController.class);
+            assertThrows(NoSuchBeanDefinitionException.class, () -> service.getBean(ProductController.class));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.project.product_service.benchmarks;
+
+import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.entities.Product;
+import com.project.product_service.mappers.ProductMapper;
+import com.project.product_service.mappers.ProductMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductMapperBenchmark {
+
+    private final ProductMapper productMapper = new ProductMapperImpl();
+
+    private Product product;
+    private ProductDTO productDTO;
+
+    @Setup
+    public void setUp() {
+        product = Product.builder()
+                .id(1L)
+                .name("Benchmark Product")
+                .description("Benchmark Description")
+                .price(BigDecimal.valueOf(1999, 2))
+                .version(3L)
+                .updatedAt(Instant.now())
+                .build();
+        productDTO = ProductDTO.builder()
+                .name("Benchmark Product")
+                .description("Benchmark Description")
+                .price(BigDecimal.valueOf(1999, 2))
+                .build();
+    }
+
+    @Benchmark
+    public ProductDTO productToProductDTO() {
+        return productMapper.productToProductDTO(product);
+    }
+
+    @Benchmark
+    public Product productDTOToProduct() {
+        return productMapper.productDTOToProduct(productDTO);
+    }
+
+    @Benchmark
+    public Product mapToProduct() {
+        return productMapper.mapToProduct(productDTO, product);
+    }
+}
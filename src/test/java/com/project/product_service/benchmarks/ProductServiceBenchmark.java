@@ -0,0 +1,100 @@
+package com.project.product_service.benchmarks;
+
+import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.dtos.ProductPageDTO;
+import com.project.product_service.entities.Product;
+import com.project.product_service.services.ProductService;
+import com.project.product_service.support.EmbeddedProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.test.util.AopTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end ProductService calls against an embedded PostgreSQL. The product cache is
+ * switched off so that findById measures the database path, not Caffeine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ProductServiceBenchmark {
+
+    @Param({"10000"})
+    private int products;
+
+    private EmbeddedProductService embeddedProductService;
+    private ProductService productService;
+    private ProductService productServiceTarget;
+    private long[] ids;
+    private ProductDTO validProduct;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        embeddedProductService = EmbeddedProductService.start(
+                WebApplicationType.NONE, Map.of("spring.cache.type", "none"));
+        productService = embeddedProductService.getBean(ProductService.class);
+        productServiceTarget = AopTestUtils.getUltimateTargetObject(productService);
+        List<Long> seeded = embeddedProductService.seed(products);
+        ids = seeded.stream().mapToLong(Long::longValue).toArray();
+        validProduct = ProductDTO.builder()
+                .name("Benchmark Product")
+                .description("Benchmark Description")
+                .price(BigDecimal.valueOf(1999, 2))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        embeddedProductService.close();
+    }
+
+    @Benchmark
+    public void validate() {
+        productServiceTarget.validate(validProduct);
+    }
+
+    @Benchmark
+    public ProductDTO findById() {
+        return productService.findById(randomId());
+    }
+
+    @Benchmark
+    public ProductPageDTO getProductsPage() {
+        return productService.getProductsPage(randomId(), 100);
+    }
+
+    @Benchmark
+    public List<ProductDTO> getProductsByNameContaining() {
+        return productService.getProductsByNameContaining("Product " + ThreadLocalRandom.current().nextInt(products));
+    }
+
+    @Benchmark
+    public Product addNewProduct() {
+        return productService.addNewProduct(validProduct);
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
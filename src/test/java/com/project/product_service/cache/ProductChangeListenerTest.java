@@ -0,0 +1,69 @@
+package com.project.product_service.cache;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.project.product_service.config.CacheConfig;
+import com.project.product_service.search.ProductSearchEngine;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductChangeListenerTest {
+
+    @Mock
+    private DataSourceProperties dataSourceProperties;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ProductSearchEngine productSearchEngine;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private Cache cache;
+
+    @InjectMocks
+    private ProductChangeListener listener;
+
+    @BeforeEach
+    void setUp() {
+        when(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE)).thenReturn(cache);
+    }
+
+    @Test
+    void testApply_EvictsAndRefreshesEachChangedProductOnce() {
+        listener.apply(List.of("1", "2", "1"));
+
+        verify(cache, times(1)).evict(1L);
+        verify(cache, times(1)).evict(2L);
+        verify(productSearchEngine, times(1)).refresh(1L);
+        verify(productSearchEngine, times(1)).refresh(2L);
+        verify(productSearchEngine, never()).reindex();
+    }
+
+    @Test
+    void testApply_BulkChangeClearsEverything() {
+        listener.apply(List.of("1", ProductChangeListener.ALL_PRODUCTS));
+
+        verify(cache, times(1)).clear();
+        verify(productSearchEngine, times(1)).reindex();
+        verify(cache, never()).evict(1L);
+    }
+}
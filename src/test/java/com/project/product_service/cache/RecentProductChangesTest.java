@@ -0,0 +1,58 @@
+package com.project.product_service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.project.product_service.config.ProductServiceProperties;
+
+public class RecentProductChangesTest {
+
+    private ProductServiceProperties properties;
+    private RecentProductChanges recentProductChanges;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProductServiceProperties();
+        properties.getDatasource().getReplicas().add(new ProductServiceProperties.Datasource.Replica());
+        recentProductChanges = new RecentProductChanges(properties);
+    }
+
+    @Test
+    void testChangedProductIsRecent() {
+        recentProductChanges.onProductsChanged(new ProductsChangedEvent(List.of("1")));
+
+        assertTrue(recentProductChanges.isRecent(1L));
+        assertFalse(recentProductChanges.isRecent(2L));
+    }
+
+    @Test
+    void testBulkChangeMakesEveryProductRecent() {
+        recentProductChanges.onProductsChanged(new ProductsChangedEvent(List.of(ProductChangeListener.ALL_PRODUCTS)));
+
+        assertTrue(recentProductChanges.isRecent(2L));
+    }
+
+    @Test
+    void testNothingIsRecentAfterTheWindow() {
+        properties.getDatasource().setReplayWindow(Duration.ZERO);
+
+        recentProductChanges.onProductsChanged(new ProductsChangedEvent(List.of("1", ProductChangeListener.ALL_PRODUCTS)));
+
+        assertFalse(recentProductChanges.isRecent(1L));
+    }
+
+    @Test
+    void testNothingIsTrackedWithoutReplicas() {
+        properties.getDatasource().getReplicas().clear();
+
+        recentProductChanges.onProductsChanged(new ProductsChangedEvent(List.of("1")));
+
+        assertFalse(recentProductChanges.isRecent(1L));
+    }
+}
@@ -0,0 +1,85 @@
+package com.project.product_service.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+public class ReplicaRoutingDataSourceTest {
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void testOutsideTransaction_UsesPrimary() {
+        ReplicaRoutingDataSource dataSource = routingDataSource(Duration.ZERO);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReadOnlyTransaction_RoundRobinsReplicas() {
+        ReplicaRoutingDataSource dataSource = routingDataSource(Duration.ZERO);
+        beginTransaction(true);
+
+        assertEquals(0, dataSource.determineCurrentLookupKey());
+        assertEquals(1, dataSource.determineCurrentLookupKey());
+        assertEquals(0, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReadWriteTransaction_UsesPrimary() {
+        ReplicaRoutingDataSource dataSource = routingDataSource(Duration.ZERO);
+        beginTransaction(false);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReadAfterCommittedWrite_UsesPrimaryWithinWindow() {
+        ReplicaRoutingDataSource dataSource = routingDataSource(Duration.ofMinutes(1));
+        beginTransaction(false);
+        dataSource.determineCurrentLookupKey();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        tearDown();
+
+        beginTransaction(true);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReadAfterRolledBackWrite_UsesReplica() {
+        ReplicaRoutingDataSource dataSource = routingDataSource(Duration.ofMinutes(1));
+        beginTransaction(false);
+        dataSource.determineCurrentLookupKey();
+        tearDown();
+
+        beginTransaction(true);
+
+        assertEquals(0, dataSource.determineCurrentLookupKey());
+    }
+
+    private static ReplicaRoutingDataSource routingDataSource(Duration readYourWritesWindow) {
+        return new ReplicaRoutingDataSource(
+                mock(DataSource.class), List.of(new HikariDataSource(), new HikariDataSource()), readYourWritesWindow);
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+}
@@ -7,9 +7,13 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
@@ -47,11 +51,11 @@ class ProductControllerTest {
 
     @Test
     void ensureThatGetAllProductsWorks() {
-        int size = productController.getAllProducts(null).size();
+        int size = productController.getAllProducts(null, webRequest()).size();
         addNewTestProductToDatabase(createProductDTO("Product 1", BigDecimal.valueOf(10)));
         addNewTestProductToDatabase(createProductDTO("Product 2", BigDecimal.valueOf(20)));
 
-        int sizeAfterAddition = productController.getAllProducts(null).size();
+        int sizeAfterAddition = productController.getAllProducts(null, webRequest()).size();
 
         assertEquals(size + 2, sizeAfterAddition);
     }
@@ -60,7 +64,7 @@ class ProductControllerTest {
     void ensureThatGetProductByIdWorks() {
         ResponseEntity<Product> newProduct = addNewTestProductToDatabase(createProductDTO("New Product", BigDecimal.valueOf(30)));
 
-        ProductDTO returnedProduct = productController.getProductById(Objects.requireNonNull(newProduct.getBody()).getId());
+        ProductDTO returnedProduct = productController.getProductById(Objects.requireNonNull(newProduct.getBody()).getId(), webRequest());
 
         assertEquals(returnedProduct.getName(), newProduct.getBody().getName());
     }
@@ -70,7 +74,7 @@ class ProductControllerTest {
         Long id = 999L;
 
         ElementNotFoundException thrown =
-                assertThrows(ElementNotFoundException.class, () -> productController.getProductById(id));
+                assertThrows(ElementNotFoundException.class, () -> productController.getProductById(id, webRequest()));
 
         assertTrue(thrown.getMessage().contains("Product with id " + id + " not found."));
     }
@@ -102,9 +106,9 @@ class ProductControllerTest {
         ResponseEntity<Product> newProduct = addNewTestProductToDatabase(createProductDTO("Initial Product", BigDecimal.valueOf(60)));
         ProductDTO updatedProductDTO = createProductDTO("Updated Product", BigDecimal.valueOf(70));
 
-        productController.updateProduct(Objects.requireNonNull(newProduct.getBody()).getId(), updatedProductDTO);
+        productController.updateProduct(Objects.requireNonNull(newProduct.getBody()).getId(), updatedProductDTO, null);
 
-        assertEquals(productController.getProductById(newProduct.getBody().getId()).getName(), updatedProductDTO.getName());
+        assertEquals(productController.getProductById(newProduct.getBody().getId(), webRequest()).getName(), updatedProductDTO.getName());
     }
 
     @Test
@@ -114,7 +118,7 @@ class ProductControllerTest {
         ElementNotFoundException thrown =
                 assertThrows(
                         ElementNotFoundException.class,
-                        () -> productController.updateProduct(id, createProductDTO("Updated Product", BigDecimal.valueOf(80))));
+                        () -> productController.updateProduct(id, createProductDTO("Updated Product", BigDecimal.valueOf(80)), null));
 
         assertTrue(thrown.getMessage().contains("Product with id " + id + " not found."));
     }
@@ -128,12 +132,28 @@ class ProductControllerTest {
         ElementNotFoundException thrown =
                 assertThrows(
                         ElementNotFoundException.class,
-                        () -> productController.getProductById(product.getBody().getId()));
+                        () -> productController.getProductById(product.getBody().getId(), webRequest()));
 
         assertTrue(thrown.getMessage().contains("Product with id " + product.getBody().getId() + " not found."));
     }
 
     @Test
+    @Test
+    void ensureEachFormatGetsItsOwnETag() {
+        ResponseEntity<Product> newProduct = addNewTestProductToDatabase(createProductDTO("Cbor Product", BigDecimal.valueOf(40)));
+        Long id = Objects.requireNonNull(newProduct.getBody()).getId();
+        MockHttpServletResponse jsonResponse = new MockHttpServletResponse();
+        MockHttpServletRequest cborRequest = new MockHttpServletRequest();
+        cborRequest.addHeader(HttpHeaders.ACCEPT, "application/cbor");
+        MockHttpServletResponse cborResponse = new MockHttpServletResponse();
+
+        productController.getProductById(id, new ServletWebRequest(new MockHttpServletRequest(), jsonResponse));
+        productController.getProductById(id, new ServletWebRequest(cborRequest, cborResponse));
+
+        assertNotEquals(jsonResponse.getHeader(HttpHeaders.ETAG), cborResponse.getHeader(HttpHeaders.ETAG));
+        assertEquals(HttpHeaders.ACCEPT, cborResponse.getHeader(HttpHeaders.VARY));
+    }
+
     void ensureDeleteProductThrowsErrorResponseWhenIdNotExists() {
         Long id = 999L;
 
@@ -143,6 +163,10 @@ class ProductControllerTest {
         assertTrue(thrown.getMessage().contains("Product with id " + id + " not found."));
     }
 
+    private ServletWebRequest webRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+    }
+
     private ProductDTO createProductDTO(String name, BigDecimal price) {
         ProductDTO productDTO = new ProductDTO();
         productDTO.setName(name);
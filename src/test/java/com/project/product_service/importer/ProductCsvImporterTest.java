@@ -0,0 +1,185 @@
+package com.project.product_service.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.project.product_service.cache.ProductChangeListener;
+import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.dtos.ProductImportResultDTO;
+import com.project.product_service.entities.Product;
+import com.project.product_service.repositories.ProductRepository;
+import com.project.product_service.services.ProductService;
+import com.project.product_service.support.EmbeddedProductService;
+
+// Runs the COPY / upsert / setval SQL for real, against an embedded PostgreSQL.
+public class ProductCsvImporterTest {
+
+    private static final String HEADER = "id,name,description,price\n";
+
+    private static EmbeddedProductService service;
+    private static ProductCsvImporter importer;
+    private static ProductRepository productRepository;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startService() throws IOException {
+        service = EmbeddedProductService.start(WebApplicationType.NONE, Map.of("product.cache.listen", "false"));
+        importer = service.getBean(ProductCsvImporter.class);
+        productRepository = service.getBean(ProductRepository.class);
+        jdbcTemplate = new JdbcTemplate(service.getBean(DataSource.class));
+    }
+
+    @AfterAll
+    static void stopService() throws IOException {
+        service.close();
+    }
+
+    @Test
+    void testDuplicateIds_LastRowWins() {
+        ProductImportResultDTO result = importCsv(HEADER
+                + "10001,First,First description,1.00\n"
+                + "10002,Other,Other description,2.00\n"
+                + "10001,Second,Second description,3.00\n");
+
+        assertEquals(2, result.getImported());
+        assertEquals(0, result.getRejected());
+        ProductDTO product = productRepository.findProductDTOById(10001L).orElseThrow();
+        assertEquals("Second", product.getName());
+        assertEquals(0, product.getPrice().compareTo(new BigDecimal("3.00")));
+    }
+
+    @Test
+    void testExistingIdIsUpdatedAndVersionBumped() {
+        importCsv(HEADER + "10101,Before,Description,1.00\n");
+        long version = productRepository.findProductDTOById(10101L).orElseThrow().getVersion();
+
+        importCsv(HEADER + "10101,After,Description,1.00\n");
+
+        ProductDTO product = productRepository.findProductDTOById(10101L).orElseThrow();
+        assertEquals("After", product.getName());
+        assertEquals(version + 1, product.getVersion());
+    }
+
+    @Test
+    void testInvalidRowsAreRejectedAndReported() {
+        ProductImportResultDTO result = importCsv(HEADER
+                + "10201,Valid,Valid description,1.00\n"
+                + "10202,,Missing name,1.00\n"
+                + "10203,Negative,Negative price,-1.00\n"
+                + "10204,Text,Price is text,cheap\n"
+                + "abc,Bad id,Id is text,1.00\n"
+                + "10205,Precise,Three decimals,1.005\n");
+
+        assertEquals(1, result.getImported());
+        assertEquals(5, result.getRejected());
+        assertEquals(5, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("record 2: "), result.getErrors().get(0));
+        assertTrue(productRepository.findProductDTOById(10201L).isPresent());
+        assertFalse(productRepository.existsById(10203L));
+    }
+
+    @Test
+    void testSequenceMovesPastImportedIds() {
+        ProductImportResultDTO result = importCsv(HEADER
+                + "500000,High,High id,1.00\n"
+                + ",New,Gets a generated id,1.00\n");
+
+        assertEquals(2, result.getImported());
+        Long lastValue = jdbcTemplate.queryForObject("SELECT last_value FROM product_id_sequence", Long.class);
+        assertTrue(lastValue >= 500000, "sequence at " + lastValue);
+        Product created = service.getBean(ProductService.class).addNewProduct(ProductDTO.builder()
+                .name("Created after import")
+                .description("Description")
+                .price(BigDecimal.ONE)
+                .build());
+        assertTrue(created.getId() > 500000, "created with id " + created.getId());
+    }
+
+    @Test
+    void testMalformedCsv_IsBadRequestAndChangesNothing() {
+        long before = productRepository.count();
+
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class, () -> importCsv(HEADER
+                + "10301,Valid,Valid description,1.00\n"
+                + "10302,\"Unterminated,Description,1.00\n"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, thrown.getStatusCode());
+        assertEquals(before, productRepository.count());
+        assertFalse(productRepository.existsById(10301L));
+    }
+
+    @Test
+    void testInvalidDataFromPostgresIsBadRequest() throws SQLException {
+        DataSource failing = mock(DataSource.class);
+        when(failing.getConnection()).thenThrow(new SQLException("duplicate key value", "23505"));
+
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class,
+                () -> new ProductCsvImporter(failing, null, null, null).importProducts(new StringReader(HEADER)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, thrown.getStatusCode());
+    }
+
+    @Test
+    void testDatabaseFailureIsNotBadRequest() throws SQLException {
+        DataSource failing = mock(DataSource.class);
+        when(failing.getConnection()).thenThrow(new SQLException("connection refused", "08001"));
+
+        assertThrows(DataAccessException.class,
+                () -> new ProductCsvImporter(failing, null, null, null).importProducts(new StringReader(HEADER)));
+    }
+
+    @Test
+    void testRowNotificationsAreReplacedByOneBulkNotification() throws SQLException {
+        DataSource dataSource = service.getBean(DataSource.class);
+        try (Connection listener = dataSource.getConnection()) {
+            listener.setAutoCommit(true);
+            try (Statement statement = listener.createStatement()) {
+                statement.execute("LISTEN " + ProductChangeListener.CHANNEL);
+            }
+
+            importCsv(HEADER + "10401,One,Description,1.00\n10402,Two,Description,2.00\n");
+
+            List<String> payloads = new ArrayList<>();
+            PGNotification[] notifications = listener.unwrap(PGConnection.class).getNotifications(1000);
+            if (notifications != null) {
+                Arrays.stream(notifications).map(PGNotification::getParameter).forEach(payloads::add);
+            }
+            assertEquals(List.of(ProductChangeListener.ALL_PRODUCTS), payloads);
+            try (Statement statement = listener.createStatement()) {
+                statement.execute("UNLISTEN *");
+            }
+        }
+    }
+
+    private static ProductImportResultDTO importCsv(String csv) {
+        return importer.importProducts(new StringReader(csv));
+    }
+}
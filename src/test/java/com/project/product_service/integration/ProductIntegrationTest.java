@@ -1,6 +1,8 @@
 package com.project.product_service.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.project.product_service.dtos.ProductDTO;
 import com.project.product_service.entities.Product;
 import com.project.product_service.services.ProductService;
@@ -17,6 +19,7 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.math.BigDecimal;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
@@ -32,6 +35,9 @@ public class ProductIntegrationTest {
     @Autowired
     private ProductService productService;
 
+    private static final BigDecimal PRICE = new BigDecimal("19.99");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     private Long productId;
 
     @BeforeEach
@@ -66,4 +72,65 @@ public class ProductIntegrationTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$[0].name").value("Test Product"));
     }
+
+    @Test
+    public void testJsonIsTheDefaultRepresentation() throws Exception {
+        productId = createProduct().getId();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/{id}", productId)
+                        .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.price").value(19.99));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/{id}", productId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void testCborKeepsTheExactPrice() throws Exception {
+        productId = createProduct().getId();
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/{id}", productId)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        ProductDTO product = new CBORMapper().readValue(result.getResponse().getContentAsByteArray(), ProductDTO.class);
+        assertEquals("Negotiated Product", product.getName());
+        assertEquals(PRICE, product.getPrice());
+    }
+
+    @Test
+    public void testSmileKeepsTheExactPrice() throws Exception {
+        productId = createProduct().getId();
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/{id}", productId)
+                        .accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn();
+
+        ProductDTO product = new SmileMapper().readValue(result.getResponse().getContentAsByteArray(), ProductDTO.class);
+        assertEquals("Negotiated Product", product.getName());
+        assertEquals(PRICE, product.getPrice());
+    }
+
+    @Test
+    public void testIdsAndLimitTogetherAreRejected() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products")
+                        .param("ids", "1,2")
+                        .param("limit", "10"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Product createProduct() {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setName("Negotiated Product");
+        productDTO.setDescription("Served in several formats");
+        productDTO.setPrice(PRICE);
+        return productService.addNewProduct(productDTO);
+    }
 }
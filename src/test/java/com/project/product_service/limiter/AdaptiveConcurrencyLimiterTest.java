@@ -0,0 +1,62 @@
+package com.project.product_service.limiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLISECOND = 1_000_000L;
+
+    @Test
+    void testRejectsOverLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void testGrowsWhileLatencyIsSteady() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 5, 100);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.sample(10 * MILLISECOND, limiter.getLimit());
+        }
+
+        assertEquals(100, limiter.getLimit());
+    }
+
+    @Test
+    void testShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 5, 100);
+        for (int i = 0; i < 100; i++) {
+            limiter.sample(10 * MILLISECOND, limiter.getLimit());
+        }
+
+        for (int i = 0; i < 100; i++) {
+            limiter.sample(100 * MILLISECOND, limiter.getLimit());
+        }
+
+        assertTrue(limiter.getLimit() < 50, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void testIgnoresLatencyWhileMostlyIdle() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 5, 100);
+        limiter.sample(10 * MILLISECOND, 1);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.sample(100 * MILLISECOND, 1);
+        }
+
+        assertEquals(100, limiter.getLimit());
+    }
+}
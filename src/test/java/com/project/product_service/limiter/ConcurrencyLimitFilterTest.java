@@ -0,0 +1,141 @@
+package com.project.product_service.limiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.project.product_service.config.ProductServiceProperties;
+import com.project.product_service.metrics.ProductMetrics;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@ExtendWith(MockitoExtension.class)
+public class ConcurrencyLimitFilterTest {
+
+    @Mock
+    private ProductMetrics productMetrics;
+
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ProductServiceProperties properties = new ProductServiceProperties();
+        properties.getLimiter().setRead(new ProductServiceProperties.Limiter.Limit(1, 1, 1));
+        properties.getLimiter().setWrite(new ProductServiceProperties.Limiter.Limit(1, 1, 1));
+        filter = new ConcurrencyLimitFilter(properties, productMetrics);
+    }
+
+    @Test
+    void testRejectsReadsOverLimitWithRetryAfter() throws Exception {
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        // The nested read arrives while the outer one still holds the only read slot.
+        MockHttpServletResponse outer = run("GET", "/api/v1/products/1", () -> run("GET", "/api/v1/products/2", nested));
+
+        assertEquals(200, outer.getStatus());
+        assertEquals(503, nested.getStatus());
+        assertEquals("1", nested.getHeader(HttpHeaders.RETRY_AFTER));
+        verify(productMetrics, times(1)).limiterRejected("read");
+    }
+
+    @Test
+    void testReadsAndWritesHaveSeparateLimits() throws Exception {
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        run("GET", "/api/v1/products/1", () -> run("PATCH", "/api/v1/products/1", nested));
+
+        assertEquals(200, nested.getStatus());
+        verify(productMetrics, never()).limiterRejected("write");
+    }
+
+    @Test
+    void testSkipsChangesLongPoll() throws Exception {
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        run("GET", "/api/v1/products/1", () -> run("GET", "/api/v1/products/changes", nested));
+
+        assertEquals(200, nested.getStatus());
+    }
+
+    @Test
+    void testSamplesLatencyOfSuccessfulResponsesOnly() throws Exception {
+        AdaptiveConcurrencyLimiter readLimiter = mock(AdaptiveConcurrencyLimiter.class);
+        when(readLimiter.tryAcquire()).thenReturn(true);
+        ConcurrencyLimitFilter sampling = new ConcurrencyLimitFilter(
+                readLimiter, mock(AdaptiveConcurrencyLimiter.class), Duration.ofSeconds(1), productMetrics);
+
+        for (int status : new int[] {200, 304, 404, 412, 500, 503}) {
+            sampling.doFilter(new MockHttpServletRequest("GET", "/api/v1/products/1"), new MockHttpServletResponse(),
+                    new MockFilterChain(new HttpServlet() {
+                        @Override
+                        protected void service(HttpServletRequest request, HttpServletResponse response) {
+                            response.setStatus(status);
+                        }
+                    }));
+        }
+
+        verify(readLimiter, times(2)).release(anyLong());
+        verify(readLimiter, times(4)).release();
+    }
+
+    @Test
+    void testFailedRequestIsNotSampled() {
+        AdaptiveConcurrencyLimiter readLimiter = mock(AdaptiveConcurrencyLimiter.class);
+        when(readLimiter.tryAcquire()).thenReturn(true);
+        ConcurrencyLimitFilter sampling = new ConcurrencyLimitFilter(
+                readLimiter, mock(AdaptiveConcurrencyLimiter.class), Duration.ofSeconds(1), productMetrics);
+
+        assertThrows(ServletException.class, () -> sampling.doFilter(
+                new MockHttpServletRequest("GET", "/api/v1/products/1"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    throw new ServletException("handler failed");
+                }));
+
+        verify(readLimiter, never()).release(anyLong());
+        verify(readLimiter, times(1)).release();
+    }
+
+    private MockHttpServletResponse run(String method, String uri, NestedRequest inside) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                try {
+                    inside.run();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, new MockFilterChain(servlet));
+        return response;
+    }
+
+    private void run(String method, String uri, MockHttpServletResponse response) throws Exception {
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, new MockFilterChain());
+    }
+
+    private interface NestedRequest {
+        void run() throws Exception;
+    }
+}
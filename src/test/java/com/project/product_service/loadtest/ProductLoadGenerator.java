@@ -0,0 +1,292 @@
+package com.project.product_service.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.product_service.support.EmbeddedProductService;
+import org.springframework.boot.WebApplicationType;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for the /api/v1/products endpoints against an embedded PostgreSQL seeded
+ * with loadtest.products rows. Requests are issued at a fixed rate whether or not earlier ones
+ * have finished, and latency is measured from the time each request was due, so a stalled server
+ * shows up in the percentiles instead of slowing the generator down. Exits non-zero when p99,
+ * throughput or the error rate crosses its threshold; run it with mvn -Ploadtest -DskipTests verify.
+ */
+public final class ProductLoadGenerator {
+
+    private static final String JSON = "application/json";
+
+    enum Scenario {
+        READ,
+        SEARCH,
+        WRITE
+    }
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final long[] ids;
+    private final Settings settings;
+
+    private ProductLoadGenerator(HttpClient client, String baseUrl, List<Long> ids, Settings settings) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.ids = ids.stream().mapToLong(Long::longValue).toArray();
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        boolean passed;
+        try (EmbeddedProductService service = EmbeddedProductService.start(WebApplicationType.SERVLET, Map.of());
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .build()) {
+            List<Long> ids = service.seed(settings.products());
+            ProductLoadGenerator generator = new ProductLoadGenerator(
+                    client, "http://localhost:" + service.getPort() + "/api/v1/products", ids, settings);
+
+            System.out.printf("Seeded %d products, warming up for %s%n", ids.size(), settings.warmup());
+            generator.run(settings.warmup());
+            System.out.printf("Measuring %d requests/s for %s%n", settings.rate(), settings.duration());
+            Map<Scenario, Recorder> results = generator.run(settings.duration());
+            passed = report(results, settings);
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private Map<Scenario, Recorder> run(Duration duration) throws InterruptedException {
+        Map<Scenario, Recorder> recorders = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : Scenario.values()) {
+            recorders.put(scenario, new Recorder());
+        }
+        Semaphore inFlight = new Semaphore(settings.maxInFlight());
+        long interval = 1_000_000_000L / settings.rate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long due = start; due < end; due += interval) {
+                long delay = due - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                Scenario scenario = settings.pick(ThreadLocalRandom.current().nextInt(100));
+                Recorder recorder = recorders.get(scenario);
+                // Past maxInFlight the server is not keeping up; count it as a failure rather than queue forever.
+                if (!inFlight.tryAcquire()) {
+                    recorder.failed();
+                    continue;
+                }
+                long requestDue = due;
+                executor.execute(() -> {
+                    try {
+                        send(scenario, requestDue, recorder);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        recorders.values().forEach(recorder -> recorder.setSeconds(seconds));
+        return recorders;
+    }
+
+    private void send(Scenario scenario, long due, Recorder recorder) {
+        try {
+            HttpResponse<Void> response = client.send(request(scenario), HttpResponse.BodyHandlers.discarding());
+            long latency = System.nanoTime() - due;
+            if (response.statusCode() / 100 == 2) {
+                recorder.record(latency);
+            } else {
+                recorder.failed();
+            }
+        } catch (IOException e) {
+            recorder.failed();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recorder.failed();
+        }
+    }
+
+    private HttpRequest request(Scenario scenario) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = ids[random.nextInt(ids.length)];
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(Duration.ofSeconds(10)).header("Accept", JSON);
+        return switch (scenario) {
+            case READ -> builder.uri(URI.create(baseUrl + "/" + id)).GET().build();
+            case SEARCH -> builder.uri(URI.create(baseUrl + "?name="
+                    + URLEncoder.encode("Product " + random.nextInt(ids.length), StandardCharsets.UTF_8))).GET().build();
+            case WRITE -> builder.uri(URI.create(baseUrl + "/" + id))
+                    .header("Content-Type", JSON)
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                            "{\"price\":" + (1 + random.nextInt(100_000)) / 100.0 + "}"))
+                    .build();
+        };
+    }
+
+    private static boolean report(Map<Scenario, Recorder> results, Settings settings) throws IOException {
+        Recorder total = new Recorder();
+        results.values().forEach(total::addAll);
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        List<String> failures = new ArrayList<>();
+        System.out.printf("%-8s %10s %8s %10s %10s %10s %10s%n", "", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (Map.Entry<String, Recorder> entry : withTotal(results, total).entrySet()) {
+            Recorder recorder = entry.getValue();
+            System.out.printf("%-8s %10d %8d %10.1f %10.2f %10.2f %10.2f%n", entry.getKey(), recorder.count(),
+                    recorder.errors(), recorder.throughput(), recorder.percentileMillis(50),
+                    recorder.percentileMillis(99), recorder.percentileMillis(100));
+            json.put(entry.getKey(), recorder.summary());
+            if (recorder.count() > 0 && recorder.percentileMillis(99) > settings.maxP99Millis()) {
+                failures.add(entry.getKey() + " p99 above " + settings.maxP99Millis() + " ms");
+            }
+        }
+        if (total.throughput() < settings.minThroughput()) {
+            failures.add("throughput below " + settings.minThroughput() + " requests/s");
+        }
+        if (total.errorRate() > settings.maxErrorRate()) {
+            failures.add("error rate above " + settings.maxErrorRate());
+        }
+        json.put("failures", failures);
+
+        Files.createDirectories(settings.resultFile().toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(settings.resultFile().toFile(), json);
+        failures.forEach(failure -> System.out.println("FAILED: " + failure));
+        return failures.isEmpty();
+    }
+
+    private static Map<String, Recorder> withTotal(Map<Scenario, Recorder> results, Recorder total) {
+        Map<String, Recorder> rows = new LinkedHashMap<>();
+        results.forEach((scenario, recorder) -> rows.put(scenario.name().toLowerCase(), recorder));
+        rows.put("total", total);
+        return rows;
+    }
+
+    // Keeps every latency; a run of a few hundred thousand requests sorts in milliseconds.
+    static final class Recorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private double seconds;
+
+        synchronized void record(long latencyNanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        synchronized void failed() {
+            errors++;
+        }
+
+        synchronized void addAll(Recorder other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i]);
+            }
+            errors += other.errors;
+            seconds = Math.max(seconds, other.seconds);
+        }
+
+        synchronized void setSeconds(double seconds) {
+            this.seconds = seconds;
+        }
+
+        synchronized int count() {
+            return count;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        // Successful responses per second.
+        synchronized double throughput() {
+            return seconds == 0 ? 0 : count / seconds;
+        }
+
+        synchronized double errorRate() {
+            long requests = count + errors;
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+
+        synchronized double percentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * count) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+
+        synchronized Map<String, Object> summary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", count);
+            summary.put("errors", errors);
+            summary.put("throughput", throughput());
+            summary.put("p50Millis", percentileMillis(50));
+            summary.put("p90Millis", percentileMillis(90));
+            summary.put("p99Millis", percentileMillis(99));
+            summary.put("p999Millis", percentileMillis(99.9));
+            summary.put("maxMillis", percentileMillis(100));
+            return summary;
+        }
+    }
+
+    record Settings(int products, int rate, Duration warmup, Duration duration, int readPercent, int searchPercent,
+                    int maxInFlight, double maxP99Millis, double minThroughput, double maxErrorRate, Path resultFile) {
+
+        static Settings fromSystemProperties() {
+            Settings settings = new Settings(
+                    Integer.getInteger("loadtest.products", 10_000),
+                    Integer.getInteger("loadtest.rate", 500),
+                    Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 10)),
+                    Duration.ofSeconds(Integer.getInteger("loadtest.duration", 30)),
+                    Integer.getInteger("loadtest.read-percent", 80),
+                    Integer.getInteger("loadtest.search-percent", 10),
+                    Integer.getInteger("loadtest.max-in-flight", 1000),
+                    Double.parseDouble(System.getProperty("loadtest.max-p99-millis", "100")),
+                    Double.parseDouble(System.getProperty("loadtest.min-throughput", "475")),
+                    Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.001")),
+                    Path.of(System.getProperty("loadtest.result-file", "target/loadtest-result.json")));
+            if (settings.rate() < 1 || settings.readPercent() < 0 || settings.searchPercent() < 0
+                    || settings.readPercent() + settings.searchPercent() > 100) {
+                throw new IllegalArgumentException("Invalid load test settings: " + settings);
+            }
+            return settings;
+        }
+
+        // Writes take whatever share reads and searches leave.
+        Scenario pick(int percent) {
+            if (percent < readPercent) {
+                return Scenario.READ;
+            }
+            return percent < readPercent + searchPercent ? Scenario.SEARCH : Scenario.WRITE;
+        }
+    }
+}
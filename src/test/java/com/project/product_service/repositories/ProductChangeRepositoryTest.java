@@ -0,0 +1,156 @@
+package com.project.product_service.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.data.domain.Limit;
+
+import com.project.product_service.dtos.ProductChangeDTO;
+import com.project.product_service.support.EmbeddedProductService;
+
+// Ordering of the changes feed under concurrent writers, against an embedded PostgreSQL.
+public class ProductChangeRepositoryTest {
+
+    private static EmbeddedProductService service;
+    private static ProductChangeRepository productChangeRepository;
+    private static DataSource dataSource;
+
+    @BeforeAll
+    static void startService() throws IOException {
+        service = EmbeddedProductService.start(WebApplicationType.NONE, Map.of("product.cache.listen", "false"));
+        productChangeRepository = service.getBean(ProductChangeRepository.class);
+        dataSource = service.getBean(DataSource.class);
+    }
+
+    @AfterAll
+    static void stopService() throws IOException {
+        service.close();
+    }
+
+    @Test
+    void testRunningTransactionHoldsBackLaterCommitsWithoutBlockingThem() throws SQLException {
+        long since = productChangeRepository.findLastSeq();
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+            long firstId = insertProduct(first, "First");
+            // Fails instead of hanging if writes were serialized on a lock again.
+            try (Statement statement = second.createStatement()) {
+                statement.execute("SET LOCAL statement_timeout = '5s'");
+            }
+            long secondId = insertProduct(second, "Second");
+            second.commit();
+
+            assertTrue(productIds(productChangeRepository.findChangesAfter(since, Limit.of(100))).isEmpty());
+
+            first.commit();
+
+            assertEquals(List.of(firstId, secondId),
+                    productIds(productChangeRepository.findChangesAfter(since, Limit.of(100))));
+        }
+    }
+
+    @Test
+    void testHeldBackSecondsCoverCommittedChangesBehindARunningTransaction() throws SQLException {
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+            insertProduct(first, "Running");
+            insertProduct(second, "Held back");
+            second.commit();
+
+            assertTrue(productChangeRepository.findHeldBackSeconds() > 0);
+
+            first.commit();
+
+            assertEquals(0, productChangeRepository.findHeldBackSeconds());
+        }
+    }
+
+    @Test
+    void testResumesInsideOneTransaction() throws SQLException {
+        long since = productChangeRepository.findLastSeq();
+        List<Long> ids = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            for (int i = 0; i < 3; i++) {
+                ids.add(insertProduct(connection, "Batch " + i));
+            }
+            connection.commit();
+        }
+
+        List<ProductChangeDTO> firstPage = productChangeRepository.findChangesAfter(since, Limit.of(2));
+        long next = firstPage.get(firstPage.size() - 1).getSeq();
+        List<ProductChangeDTO> secondPage = productChangeRepository.findChangesAfter(next, Limit.of(2));
+
+        assertEquals(ids.subList(0, 2), productIds(firstPage));
+        assertEquals(ids.subList(2, 3), productIds(secondPage));
+        assertEquals(secondPage.get(0).getSeq(), productChangeRepository.findLastSeq());
+    }
+
+    @Test
+    void testCatalogVersionMovesOnDelete() throws SQLException {
+        long id;
+        try (Connection connection = dataSource.getConnection()) {
+            id = insertProduct(connection, "Deleted");
+        }
+        String before = productChangeRepository.findCatalogVersion().toETag();
+
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("DELETE FROM products WHERE id = ?")) {
+            statement.setLong(1, id);
+            statement.executeUpdate();
+        }
+
+        assertNotEquals(before, productChangeRepository.findCatalogVersion().toETag());
+    }
+
+    @Test
+    void testCatalogVersionMovesWhenAnEarlierChangeCommitsLast() throws SQLException {
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+            insertProduct(first, "First");
+            insertProduct(second, "Second");
+            second.commit();
+            String before = productChangeRepository.findCatalogVersion().toETag();
+
+            first.commit();
+
+            assertNotEquals(before, productChangeRepository.findCatalogVersion().toETag());
+        }
+    }
+
+    private static long insertProduct(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO products (id, name, description, price) "
+                        + "VALUES (nextval('product_id_sequence'), ?, 'Description', 1.00) RETURNING id")) {
+            statement.setString(1, name);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private static List<Long> productIds(List<ProductChangeDTO> changes) {
+        return changes.stream().map(ProductChangeDTO::getProductId).toList();
+    }
+}
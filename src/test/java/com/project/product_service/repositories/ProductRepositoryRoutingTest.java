@@ -0,0 +1,80 @@
+package com.project.product_service.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.services.ProductService;
+import com.project.product_service.support.EmbeddedProductService;
+
+// Which pool the declared queries reach when called outside a service transaction. The "replica" is the
+// same embedded PostgreSQL with a schema ahead of public on its search_path, holding a renamed copy of the row.
+public class ProductRepositoryRoutingTest {
+
+    private static EmbeddedProductService service;
+    private static long productId;
+
+    @BeforeAll
+    static void startService() throws IOException {
+        service = EmbeddedProductService.start(WebApplicationType.NONE, Map.of(
+                "product.cache.listen", "false",
+                "product.coalescing.enabled", "false",
+                "product.datasource.replicas[0].url", "${spring.datasource.url}&currentSchema=replica,public",
+                "product.datasource.replicas[0].username", "postgres",
+                "product.datasource.replicas[0].password", "postgres"));
+        // Outside a transaction the routing data source always picks the primary.
+        JdbcTemplate primary = new JdbcTemplate(service.getBean(DataSource.class));
+        productId = primary.queryForObject("INSERT INTO products (id, name, description, price) "
+                + "VALUES (nextval('product_id_sequence'), 'Routed primary', 'Routed primary', 1.00) RETURNING id",
+                Long.class);
+        primary.execute("CREATE SCHEMA replica");
+        primary.execute("CREATE TABLE replica.products (LIKE public.products INCLUDING DEFAULTS)");
+        primary.update("INSERT INTO replica.products SELECT * FROM public.products WHERE id = ?", productId);
+        primary.update("UPDATE replica.products SET name = 'Routed replica', description = 'Routed replica' "
+                + "WHERE id = ?", productId);
+    }
+
+    @AfterAll
+    static void stopService() throws IOException {
+        service.close();
+    }
+
+    @Test
+    void testCacheMissLookupReadsFromReplica() {
+        assertEquals("Routed replica", service.getBean(ProductService.class).findById(productId).getName());
+    }
+
+    @Test
+    void testNameSearchReadsFromReplica() {
+        assertEquals(List.of("Routed replica"), names(
+                service.getBean(ProductService.class).getProductsByNameContaining("Routed")));
+    }
+
+    @Test
+    void testLookupInsideReadWriteTransactionStaysOnPrimary() {
+        TransactionTemplate transactionTemplate =
+                new TransactionTemplate(service.getBean(PlatformTransactionManager.class));
+
+        String name = transactionTemplate.execute(status -> service.getBean(ProductRepository.class)
+                .findProductDTOById(productId).orElseThrow().getName());
+
+        assertEquals("Routed primary", name);
+    }
+
+    private static List<String> names(List<ProductDTO> products) {
+        return products.stream().map(ProductDTO::getName).toList();
+    }
+}
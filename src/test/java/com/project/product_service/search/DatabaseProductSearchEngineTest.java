@@ -0,0 +1,40 @@
+package com.project.product_service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.data.domain.Limit;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.repositories.ProductRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class DatabaseProductSearchEngineTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private DatabaseProductSearchEngine searchEngine;
+
+    @Test
+    void testFindByNameContaining_EscapesLikeWildcards() {
+        ProductDTO productDTO = ProductDTO.builder().id(1L).name("50%_off").description("Sale").price(BigDecimal.TEN).build();
+        when(productRepository.searchProductDTOsByName("50\\%\\_off", "50%_off", Limit.of(10)))
+                .thenReturn(Collections.singletonList(productDTO));
+
+        List<ProductDTO> products = searchEngine.findByNameContaining("50%_off", 10);
+
+        assertEquals(1, products.size());
+        assertEquals("50%_off", products.get(0).getName());
+    }
+}
@@ -0,0 +1,108 @@
+package com.project.product_service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.project.product_service.dtos.ProductDTO;
+
+public class InMemoryProductIndexTest {
+
+    private static final Instant UPDATED_AT = Instant.parse("2024-06-01T10:15:30Z");
+
+    private final Map<Long, Long> versions = new HashMap<>();
+    private InMemoryProductIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryProductIndex();
+        index.put(product(1L, "Red Running Shoe", "Shoe", BigDecimal.valueOf(50)));
+        index.put(product(2L, "Blue Running Shirt", "Shirt", BigDecimal.valueOf(20)));
+        index.put(product(3L, "Shoe", "Plain shoe", BigDecimal.valueOf(10)));
+    }
+
+    @Test
+    void testFindByNameContaining() {
+        List<String> names = names(index.findByNameContaining("Shoe", 10));
+
+        assertEquals(List.of("Shoe", "Red Running Shoe"), names);
+    }
+
+    @Test
+    void testFindByNameContaining_IsCaseSensitive() {
+        assertTrue(index.findByNameContaining("running", 10).isEmpty());
+    }
+
+    @Test
+    void testFindByNameContaining_ShortQueryScansNames() {
+        assertEquals(3, index.findByNameContaining("Sh", 10).size());
+    }
+
+    @Test
+    void testFindByNameContaining_RespectsLimit() {
+        assertEquals(1, index.findByNameContaining("Running", 1).size());
+    }
+
+    @Test
+    void testTrigramsWithoutSubstringMatchAreFiltered() {
+        index.put(product(4L, "abcXbcd", "Both trigrams of abcd, but not abcd", BigDecimal.ONE));
+
+        assertTrue(index.findByNameContaining("abcd", 10).isEmpty());
+    }
+
+    @Test
+    void testPutReplacesExistingDocument() {
+        index.put(product(3L, "Sandal", "Plain sandal", BigDecimal.valueOf(15)));
+
+        assertEquals(List.of("Red Running Shoe"), names(index.findByNameContaining("Shoe", 10)));
+        assertEquals(BigDecimal.valueOf(15), index.findByNameContaining("Sandal", 10).get(0).getPrice());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testResultsCarryVersionAndModificationTime() {
+        index.put(product(3L, "Sandal", "Plain sandal", BigDecimal.valueOf(15)));
+
+        ProductDTO found = index.findByNameContaining("Sandal", 10).get(0);
+        assertEquals(1L, found.getVersion());
+        assertEquals(UPDATED_AT, found.getUpdatedAt());
+    }
+
+    @Test
+    void testRemove() {
+        index.remove(1L);
+
+        assertEquals(List.of("Shoe"), names(index.findByNameContaining("Shoe", 10)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testCompactionKeepsLiveDocuments() {
+        for (long id = 100; id < 3000; id++) {
+            index.put(product(id, "Temporary " + id, "Temporary", BigDecimal.ONE));
+            index.remove(id);
+        }
+
+        assertEquals(3, index.size());
+        assertEquals(List.of("Shoe", "Red Running Shoe"), names(index.findByNameContaining("Shoe", 10)));
+    }
+
+    // Each put of the same id bumps its version, as an update would.
+    private ProductDTO product(Long id, String name, String description, BigDecimal price) {
+        long version = versions.merge(id, 0L, (previous, unused) -> previous + 1);
+        return new ProductDTO(id, name, description, price, version, UPDATED_AT);
+    }
+
+    private static List<String> names(List<ProductDTO> products) {
+        return products.stream().map(ProductDTO::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,88 @@
+package com.project.product_service.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.project.product_service.cache.ProductsChangedEvent;
+import com.project.product_service.dtos.ProductChangeDTO;
+import com.project.product_service.dtos.ProductChangesDTO;
+import com.project.product_service.entities.ProductChange;
+import com.project.product_service.metrics.ProductMetrics;
+import com.project.product_service.repositories.ProductChangeRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductChangeFeedServiceTest {
+
+    @Mock
+    private ProductChangeRepository productChangeRepository;
+
+    @Mock
+    private ProductMetrics productMetrics;
+
+    @InjectMocks
+    private ProductChangeFeedService productChangeFeedService;
+
+    @Test
+    void testGetChanges() {
+        when(productChangeRepository.findChangesAfter(10L, Limit.of(2)))
+                .thenReturn(List.of(change(11L), change(12L)));
+
+        ProductChangesDTO changes = productChangeFeedService.getChanges(10L, 2);
+
+        assertEquals(2, changes.getChanges().size());
+        assertEquals(12L, changes.getNextSince());
+    }
+
+    @Test
+    void testGetChanges_NoneKeepsSince() {
+        when(productChangeRepository.findChangesAfter(0L, Limit.of(100))).thenReturn(Collections.emptyList());
+
+        ProductChangesDTO changes = productChangeFeedService.getChanges(null, 100);
+
+        assertTrue(changes.getChanges().isEmpty());
+        assertEquals(0L, changes.getNextSince());
+    }
+
+    @Test
+    void testPollChanges_CompletesOnNextChange() {
+        when(productChangeRepository.findChangesAfter(10L, Limit.of(100)))
+                .thenReturn(List.of())
+                .thenReturn(List.of())
+                .thenReturn(List.of(change(11L)));
+
+        DeferredResult<ProductChangesDTO> result = productChangeFeedService.pollChanges(10L, 100, Duration.ofSeconds(30));
+        assertFalse(result.hasResult());
+
+        productChangeFeedService.onProductsChanged(new ProductsChangedEvent(List.of("1")));
+
+        assertTrue(result.hasResult());
+        assertEquals(11L, ((ProductChangesDTO) result.getResult()).getNextSince());
+    }
+
+    @Test
+    void testPollChanges_InvalidWait() {
+        assertThrows(ResponseStatusException.class, () -> {
+            productChangeFeedService.pollChanges(null, 100, ProductChangeFeedService.MAX_WAIT.plusSeconds(1));
+        });
+    }
+
+    private static ProductChangeDTO change(Long seq) {
+        return ProductChangeDTO.builder().seq(seq).productId(1L).operation(ProductChange.Operation.UPDATED).build();
+    }
+}
@@ -0,0 +1,191 @@
+package com.project.product_service.services;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.project.product_service.cache.RecentProductChanges;
+import com.project.product_service.config.CacheConfig;
+import com.project.product_service.config.ProductServiceProperties;
+import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.entities.Product;
+import com.project.product_service.mappers.ProductMapper;
+import com.project.product_service.metrics.ProductMetrics;
+import com.project.product_service.repositories.ProductChangeRepository;
+import com.project.product_service.repositories.ProductRepository;
+import com.project.product_service.search.ProductSearchEngine;
+import com.project.product_service.snapshot.ProductSnapshotStore;
+
+// The caching advice through a real proxy: keys, and eviction only after the transaction commits.
+@SpringJUnitConfig(ProductServiceCachingTest.Config.class)
+public class ProductServiceCachingTest {
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import({CacheConfig.class, ProductService.class, RequestCoalescer.class})
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(CacheConfig.PRODUCTS_CACHE);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return mock(PlatformTransactionManager.class);
+        }
+
+        @Bean
+        ProductServiceProperties productServiceProperties() {
+            return new ProductServiceProperties();
+        }
+    }
+
+    @MockBean
+    private ProductRepository productRepository;
+
+    @MockBean
+    private ProductChangeRepository productChangeRepository;
+
+    @MockBean
+    private ProductMapper productMapper;
+
+    @MockBean
+    private EntityManager entityManager;
+
+    @MockBean
+    private ProductSearchEngine productSearchEngine;
+
+    @MockBean
+    private ProductMetrics productMetrics;
+
+    @MockBean
+    private ProductSnapshotStore productSnapshotStore;
+
+    @MockBean
+    private RecentProductChanges recentProductChanges;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Cache cache;
+    private ProductDTO productDTO;
+
+    @BeforeEach
+    void setUp() {
+        cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        cache.clear();
+        reset(transactionManager);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        productDTO = ProductDTO.builder()
+                .id(1L)
+                .name("Product")
+                .description("Description")
+                .price(BigDecimal.valueOf(1999, 2))
+                .version(0L)
+                .build();
+    }
+
+    @Test
+    void testFindById_SecondCallIsACacheHit() {
+        when(productRepository.findProductDTOById(1L)).thenReturn(Optional.of(productDTO));
+
+        ProductDTO first = productService.findById(1L);
+        ProductDTO second = productService.findById(1L);
+
+        assertSame(first, second);
+        assertSame(productDTO, cache.get(1L, ProductDTO.class));
+        verify(productRepository, times(1)).findProductDTOById(1L);
+    }
+
+    @Test
+    void testUpdateProduct_EvictsAfterCommit() {
+        Product updated = product(1L);
+        when(productRepository.updateProduct(1L, "Product", "Description", productDTO.getPrice(), null))
+                .thenReturn(Optional.of(updated));
+        when(productMapper.productToProductDTO(updated)).thenReturn(productDTO);
+        cache.put(1L, productDTO);
+        cache.put(2L, productDTO);
+        assertStillCachedAtCommit(1L);
+
+        productService.updateProduct(1L, productDTO, null);
+
+        assertNull(cache.get(1L));
+        assertNotNull(cache.get(2L));
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void testDeleteProduct_EvictsAfterCommit() {
+        when(productRepository.deleteProductById(1L)).thenReturn(1);
+        cache.put(1L, productDTO);
+        cache.put(2L, productDTO);
+        assertStillCachedAtCommit(1L);
+
+        productService.deleteProduct(1L);
+
+        assertNull(cache.get(1L));
+        assertNotNull(cache.get(2L));
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void testAddNewProduct_EvictsTheNewId() {
+        Product created = product(3L);
+        when(productMapper.productDTOToProduct(productDTO)).thenReturn(created);
+        cache.put(3L, productDTO);
+
+        productService.addNewProduct(productDTO);
+
+        assertNull(cache.get(3L));
+    }
+
+    // Evicting before commit would let a concurrent read re-cache the old row.
+    private void assertStillCachedAtCommit(Long id) {
+        doAnswer(invocation -> {
+            assertNotNull(cache.get(id), "evicted before commit");
+            return null;
+        }).when(transactionManager).commit(any());
+    }
+
+    private static Product product(Long id) {
+        return Product.builder()
+                .id(id)
+                .name("Product")
+                .description("Description")
+                .price(BigDecimal.valueOf(1999, 2))
+                .build();
+    }
+}
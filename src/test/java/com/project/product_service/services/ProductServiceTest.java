@@ -1,30 +1,58 @@
 package com.project.product_service.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.project.product_service.cache.RecentProductChanges;
+import com.project.product_service.config.ProductServiceProperties;
+import com.project.product_service.dtos.ProductBatchResultDTO;
 import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.dtos.ProductLookupDTO;
+import com.project.product_service.dtos.ProductPageDTO;
+import com.project.product_service.dtos.ProductRepriceDTO;
+import com.project.product_service.dtos.ProductRepriceResultDTO;
+import com.project.product_service.dtos.RepricedProduct;
 import com.project.product_service.entities.Product;
 import com.project.product_service.repositories.ProductRepository;
+import com.project.product_service.search.ProductSearchEngine;
+import com.project.product_service.snapshot.ProductSnapshotStore;
 import com.project.product_service.mappers.ProductMapper;
+import com.project.product_service.metrics.ProductMetrics;
 
 @ExtendWith(MockitoExtension.class)
 public class ProductServiceTest {
@@ -35,6 +63,37 @@ public class ProductServiceTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ProductServiceProperties properties = new ProductServiceProperties();
+
+    @Mock
+    private ProductSearchEngine productSearchEngine;
+
+    @Mock
+    private ProductMetrics productMetrics;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    // Coalescing itself is covered by RequestCoalescerTest; here every call runs its own query.
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(withoutCoalescing(), null);
+
+    @Mock
+    private ProductSnapshotStore productSnapshotStore;
+
+    @Mock
+    private RecentProductChanges recentProductChanges;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private ProductService productService;
 
@@ -56,9 +115,7 @@ public class ProductServiceTest {
 
     @Test
     void testGetAllProducts() {
-        when(productRepository.findAll()).thenReturn(Collections.singletonList(existingProduct));
-
-        when(productMapper.productToProductDTO(existingProduct)).thenReturn(newProductDTO);
+        when(productRepository.findAllProductDTOs()).thenReturn(Collections.singletonList(newProductDTO));
 
         List<ProductDTO> products = productService.getAllProducts();
 
@@ -68,10 +125,51 @@ public class ProductServiceTest {
         assertEquals(newProductDTO.getPrice(), products.get(0).getPrice());
     }
 
+    @Test
+    void testExportProducts() {
+        when(productRepository.streamAllProductDTOs()).thenReturn(Stream.of(newProductDTO));
+
+        List<ProductDTO> exported = new ArrayList<>();
+        productService.exportProducts(exported::add);
+
+        assertEquals(1, exported.size());
+    }
+
+    @Test
+    void testGetProductsPage() {
+        ProductDTO first = ProductDTO.builder().id(5L).name("First").description("First").price(BigDecimal.ONE).build();
+        ProductDTO second = ProductDTO.builder().id(6L).name("Second").description("Second").price(BigDecimal.ONE).build();
+        when(productRepository.findProductDTOsByIdGreaterThan(4L, Limit.of(2)))
+                .thenReturn(Arrays.asList(first, second));
+
+        ProductPageDTO page = productService.getProductsPage(4L, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(5L, page.getNextCursor());
+    }
+
+    @Test
+    void testGetProductsPage_LastPage() {
+        ProductDTO last = ProductDTO.builder().id(7L).name("Last").description("Last").price(BigDecimal.ONE).build();
+        when(productRepository.findProductDTOsByIdGreaterThan(0L, Limit.of(11)))
+                .thenReturn(Collections.singletonList(last));
+
+        ProductPageDTO page = productService.getProductsPage(null, 10);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetProductsPage_InvalidLimit() {
+        assertThrows(ResponseStatusException.class, () -> {
+            productService.getProductsPage(null, ProductService.MAX_PAGE_SIZE + 1);
+        });
+    }
+
     @Test
     void testFindById() {
-        when(productRepository.findById(1L)).thenReturn(Optional.of(existingProduct));
-        when(productMapper.productToProductDTO(existingProduct)).thenReturn(newProductDTO);
+        when(productRepository.findProductDTOById(1L)).thenReturn(Optional.of(newProductDTO));
 
         ProductDTO productDTO = productService.findById(1L);
 
@@ -80,13 +178,81 @@ public class ProductServiceTest {
         assertEquals(newProductDTO.getPrice(), productDTO.getPrice());
     }
 
+    @Test
+    void testFindById_ServedFromSnapshot() {
+        when(productSnapshotStore.find(1L)).thenReturn(newProductDTO);
+
+        assertEquals(newProductDTO, productService.findById(1L));
+        verify(productRepository, times(0)).findProductDTOById(any());
+    }
+
+    @Test
+    void testFindById_RecentlyChangedProductIsLoadedFromPrimary() {
+        when(recentProductChanges.isRecent(1L)).thenReturn(true);
+        when(productRepository.findProductDTOById(1L)).thenReturn(Optional.of(newProductDTO));
+
+        assertEquals(newProductDTO, productService.findById(1L));
+        verify(transactionManager, times(1)).getTransaction(argThat(definition -> !definition.isReadOnly()
+                && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(requestCoalescer, times(0)).execute(any(), any(), any());
+    }
+
     @Test
     void testFindById_ProductNotFound() {
-        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productRepository.findProductDTOById(1L)).thenReturn(Optional.empty());
 
         assertThrows(ElementNotFoundException.class, () -> {
             productService.findById(1L);
         });
+        verify(productMetrics, times(1)).notFound("findById");
+    }
+
+    @Test
+    void testFindByIds_CacheFirstInRequestOrder() {
+        ProductDTO cached = ProductDTO.builder().id(3L).name("Cached").build();
+        ProductDTO loaded = ProductDTO.builder().id(1L).name("Loaded").build();
+        when(cacheManager.getCache("products")).thenReturn(cache);
+        when(cache.get(3L, ProductDTO.class)).thenReturn(cached);
+        when(productRepository.findProductDTOsByIdIn(Arrays.asList(1L, 2L))).thenReturn(Collections.singletonList(loaded));
+
+        ProductLookupDTO result = productService.findByIds(Arrays.asList(3L, 1L, 2L, 3L));
+
+        assertEquals(Arrays.asList(cached, loaded), result.getItems());
+        assertEquals(Collections.singletonList(2L), result.getMissingIds());
+        verify(cache, times(1)).put(1L, loaded);
+        verify(productMetrics, times(1)).notFound("findByIds");
+    }
+
+    @Test
+    void testFindByIds_TooManyIds() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 0; id <= ProductService.MAX_LOOKUP_SIZE; id++) {
+            ids.add(id);
+        }
+
+        assertThrows(ResponseStatusException.class, () -> {
+            productService.findByIds(ids);
+        });
+    }
+
+    @Test
+    void testGetProductsByNameContaining() {
+        when(productSearchEngine.findByNameContaining("Test", 100))
+                .thenReturn(Collections.singletonList(newProductDTO));
+
+        List<ProductDTO> products = productService.getProductsByNameContaining("Test");
+
+        assertEquals(1, products.size());
+        assertEquals(newProductDTO.getName(), products.get(0).getName());
+    }
+
+    @Test
+    void testGetProductsByNameContaining_NoMatches() {
+        when(productSearchEngine.findByNameContaining("missing", 100)).thenReturn(Collections.emptyList());
+
+        assertThrows(ElementNotFoundException.class, () -> {
+            productService.getProductsByNameContaining("missing");
+        });
     }
 
     @Test
@@ -100,45 +266,64 @@ public class ProductServiceTest {
         assertEquals(existingProduct.getPrice(), newProductDTO.getPrice());
     }
 
+    @Test
+    void testAddNewProducts() {
+        ProductDTO invalidProductDTO = new ProductDTO();
+        invalidProductDTO.setName("");
+        Product savedProduct = Product.builder().id(10L).name("Saved").description("Saved").price(BigDecimal.ONE).build();
+        when(productMapper.productDTOToProduct(newProductDTO)).thenReturn(existingProduct);
+        when(productRepository.save(existingProduct)).thenReturn(savedProduct);
+
+        ProductBatchResultDTO result = productService.addNewProducts(Arrays.asList(newProductDTO, invalidProductDTO));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(10L, result.getItems().get(0).getId());
+        assertEquals("Invalid product name", result.getItems().get(1).getError());
+    }
+
+    @Test
+    void testAddNewProducts_EmptyBatch() {
+        assertThrows(ResponseStatusException.class, () -> {
+            productService.addNewProducts(Collections.emptyList());
+        });
+    }
+
     @Test
     void testDeleteProduct() {
-        when(productRepository.findById(1L)).thenReturn(Optional.of(existingProduct));
+        when(productRepository.deleteProductById(1L)).thenReturn(1);
 
         productService.deleteProduct(1L);
 
-        verify(productRepository, times(1)).deleteById(1L);
+        verify(productSnapshotStore, times(1)).invalidate(1L, null);
+        verify(productSearchEngine, times(1)).remove(1L);
     }
 
     @Test
     void testDeleteProduct_ProductNotFound() {
-        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productRepository.deleteProductById(1L)).thenReturn(0);
 
-        assertThrows(ResponseStatusException.class, () -> {
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class, () -> {
             productService.deleteProduct(1L);
         });
+
+        assertEquals(HttpStatus.NOT_FOUND, thrown.getStatusCode());
+        verify(productMetrics, times(1)).notFound("deleteProduct");
     }
 
     @Test
     void testUpdateProduct() {
-        when(productRepository.findById(1L)).thenReturn(Optional.of(existingProduct));
-
-        when(productMapper.mapToProduct(any(ProductDTO.class), eq(existingProduct)))
-                .thenAnswer(invocation -> {
-                    ProductDTO updatedProductDTO = invocation.getArgument(0);
-                    existingProduct.setName(updatedProductDTO.getName());
-                    existingProduct.setDescription(updatedProductDTO.getDescription());
-                    existingProduct.setPrice(updatedProductDTO.getPrice());
-                    return null;
-                });
-
         ProductDTO updatedProductDTO = new ProductDTO();
         updatedProductDTO.setName("Updated Product");
         updatedProductDTO.setDescription("Updated Description");
         updatedProductDTO.setPrice(BigDecimal.valueOf(300.0));
-        ProductDTO returnedProductDTO = productService.updateProduct(1L, updatedProductDTO);
+        when(productRepository.updateProduct(1L, "Updated Product", "Updated Description", BigDecimal.valueOf(300.0), null))
+                .thenReturn(Optional.of(existingProduct));
+        when(productMapper.productToProductDTO(existingProduct)).thenReturn(updatedProductDTO);
 
-        verify(productRepository, times(1)).save(existingProduct);
+        ProductDTO returnedProductDTO = productService.updateProduct(1L, updatedProductDTO, null);
 
+        verify(productSearchEngine, times(1)).index(existingProduct);
         assertEquals(updatedProductDTO.getName(), returnedProductDTO.getName());
         assertEquals(updatedProductDTO.getDescription(), returnedProductDTO.getDescription());
         assertEquals(updatedProductDTO.getPrice(), returnedProductDTO.getPrice());
@@ -146,10 +331,123 @@ public class ProductServiceTest {
 
     @Test
     void testUpdateProduct_ProductNotFound() {
-        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productRepository.updateProduct(eq(1L), any(), any(), any(), eq(null))).thenReturn(Optional.empty());
+
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class, () -> {
+            productService.updateProduct(1L, newProductDTO, null);
+        });
+
+        assertEquals(HttpStatus.NOT_FOUND, thrown.getStatusCode());
+    }
+
+    @Test
+    void testUpdateProduct_VersionMismatch() {
+        when(productRepository.updateProduct(eq(1L), any(), any(), any(), eq(2L))).thenReturn(Optional.empty());
+        when(productRepository.existsById(1L)).thenReturn(true);
+
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class, () -> {
+            productService.updateProduct(1L, newProductDTO, 2L);
+        });
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, thrown.getStatusCode());
+    }
+
+    @Test
+    void testPatchProduct_UpdatesOnlyGivenFields() {
+        ProductDTO changes = ProductDTO.builder().price(BigDecimal.valueOf(5)).build();
+        when(productRepository.updateProduct(1L, null, null, BigDecimal.valueOf(5), null))
+                .thenReturn(Optional.of(existingProduct));
+        when(productMapper.productToProductDTO(existingProduct)).thenReturn(newProductDTO);
+
+        ProductDTO returnedProductDTO = productService.patchProduct(1L, changes, null);
+
+        assertEquals(newProductDTO.getName(), returnedProductDTO.getName());
+    }
+
+    @Test
+    void testPatchProduct_InvalidField() {
+        ProductDTO changes = ProductDTO.builder().name(" ").build();
 
         assertThrows(ResponseStatusException.class, () -> {
-            productService.updateProduct(1L, newProductDTO);
+            productService.patchProduct(1L, changes, null);
+        });
+        verify(productMetrics, times(1)).validationFailed("name");
+    }
+
+    @Test
+    void testRepriceProducts_ByPercentage() {
+        ProductRepriceDTO reprice = ProductRepriceDTO.builder()
+                .ids(Arrays.asList(1L, 2L))
+                .percentage(BigDecimal.valueOf(-10))
+                .build();
+        RepricedProduct repriced = mock(RepricedProduct.class);
+        when(repriced.getId()).thenReturn(1L);
+        when(repriced.getName()).thenReturn("Existing Product");
+        when(repriced.getDescription()).thenReturn("Existing Description");
+        when(repriced.getPrice()).thenReturn(new BigDecimal("180.00"));
+        when(repriced.getVersion()).thenReturn(3L);
+        when(repriced.getUpdatedAt()).thenReturn(Instant.EPOCH);
+        when(productRepository.repriceByIds(Arrays.asList(1L, 2L), new BigDecimal("0.90"), BigDecimal.ZERO))
+                .thenReturn(Collections.singletonList(repriced));
+
+        ProductRepriceResultDTO result = productService.repriceProducts(reprice);
+
+        assertEquals(1, result.getUpdated());
+        verify(productSnapshotStore, times(1)).invalidate(1L, 3L);
+        ArgumentCaptor<ProductDTO> indexed = ArgumentCaptor.forClass(ProductDTO.class);
+        verify(productSearchEngine, times(1)).index(indexed.capture());
+        assertEquals(1L, indexed.getValue().getId());
+        assertEquals(new BigDecimal("180.00"), indexed.getValue().getPrice());
+        assertEquals(3L, indexed.getValue().getVersion());
+        assertEquals(Instant.EPOCH, indexed.getValue().getUpdatedAt());
+    }
+
+    @Test
+    void testRepriceProducts_NameFilterTooBroad() {
+        ProductRepriceDTO reprice = ProductRepriceDTO.builder()
+                .nameContains("Shoe")
+                .delta(BigDecimal.ONE)
+                .build();
+        List<RepricedProduct> repriced = Collections.nCopies(
+                ProductService.MAX_BATCH_SIZE + 1, mock(RepricedProduct.class));
+        when(productRepository.repriceByNameContaining(
+                "Shoe", BigDecimal.ONE, BigDecimal.ONE, ProductService.MAX_BATCH_SIZE + 1)).thenReturn(repriced);
+
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class, () -> {
+            productService.repriceProducts(reprice);
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, thrown.getStatusCode());
+        verify(productSearchEngine, times(0)).index(any(ProductDTO.class));
+    }
+
+    @Test
+    void testRepriceProducts_NonPositivePrice() {
+        ProductRepriceDTO reprice = ProductRepriceDTO.builder()
+                .nameContains("Shoe")
+                .delta(BigDecimal.valueOf(-1000))
+                .build();
+        when(productRepository.repriceByNameContaining(
+                "Shoe", BigDecimal.ONE, BigDecimal.valueOf(-1000), ProductService.MAX_BATCH_SIZE + 1))
+                .thenThrow(new DataIntegrityViolationException("products_price_positive"));
+
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class, () -> {
+            productService.repriceProducts(reprice);
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, thrown.getStatusCode());
+    }
+
+    @Test
+    void testRepriceProducts_InvalidSelection() {
+        ProductRepriceDTO reprice = ProductRepriceDTO.builder()
+                .ids(Collections.singletonList(1L))
+                .nameContains("Shoe")
+                .delta(BigDecimal.ONE)
+                .build();
+
+        assertThrows(ResponseStatusException.class, () -> {
+            productService.repriceProducts(reprice);
         });
     }
 
@@ -178,5 +476,12 @@ public class ProductServiceTest {
         assertThrows(ResponseStatusException.class, () -> {
             productService.validate(newProductDTO);
         });
+        verify(productMetrics, times(1)).validationFailed("price");
+    }
+
+    private static ProductServiceProperties withoutCoalescing() {
+        ProductServiceProperties properties = new ProductServiceProperties();
+        properties.getCoalescing().setEnabled(false);
+        return properties;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,125 @@
+package com.project.product_service.services;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.project.product_service.config.ProductServiceProperties;
+import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.entities.ReactiveProduct;
+import com.project.product_service.mappers.ProductMapper;
+import com.project.product_service.repositories.ReactiveProductRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveProductServiceTest {
+
+    @Mock
+    private ReactiveProductRepository reactiveProductRepository;
+
+    @Mock
+    private ReactiveProductIdAllocator idAllocator;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private ProductService productService;
+
+    @Spy
+    private ProductServiceProperties properties = new ProductServiceProperties();
+
+    @InjectMocks
+    private ReactiveProductService reactiveProductService;
+
+    private ProductDTO productDTO;
+    private ReactiveProduct existingProduct;
+
+    @BeforeEach
+    void setUp() {
+        productDTO = ProductDTO.builder()
+                .name("Test Product")
+                .description("Test Description")
+                .price(BigDecimal.valueOf(100.0))
+                .build();
+        existingProduct = ReactiveProduct.builder()
+                .id(1L)
+                .name("Existing Product")
+                .description("Existing Description")
+                .price(BigDecimal.valueOf(200.0))
+                .version(3L)
+                .build();
+    }
+
+    @Test
+    void testFindById() {
+        when(reactiveProductRepository.findById(1L)).thenReturn(Mono.just(existingProduct));
+        when(productMapper.reactiveProductToProductDTO(existingProduct)).thenReturn(productDTO);
+
+        StepVerifier.create(reactiveProductService.findById(1L))
+                .expectNext(productDTO)
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindById_ProductNotFound() {
+        when(reactiveProductRepository.findById(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveProductService.findById(1L))
+                .expectError(ElementNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void testGetProductsByNameContaining_NoMatches() {
+        when(reactiveProductRepository.searchByName("missing", "missing", 100)).thenReturn(Flux.empty());
+
+        StepVerifier.create(reactiveProductService.getProductsByNameContaining("missing"))
+                .expectError(ElementNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void testDeleteProduct_ProductNotFound() {
+        when(reactiveProductRepository.deleteProductById(1L)).thenReturn(Mono.just(0));
+
+        StepVerifier.create(reactiveProductService.deleteProduct(1L))
+                .expectError(ResponseStatusException.class)
+                .verify();
+    }
+
+    @Test
+    void testUpdateProduct() {
+        when(reactiveProductRepository.findById(1L)).thenReturn(Mono.just(existingProduct));
+        when(reactiveProductRepository.save(any(ReactiveProduct.class))).thenReturn(Mono.just(existingProduct));
+        when(productMapper.reactiveProductToProductDTO(existingProduct)).thenReturn(productDTO);
+
+        StepVerifier.create(reactiveProductService.updateProduct(1L, productDTO, 3L))
+                .expectNext(productDTO)
+                .verifyComplete();
+    }
+
+    @Test
+    void testUpdateProduct_VersionMismatch() {
+        when(reactiveProductRepository.findById(1L)).thenReturn(Mono.just(existingProduct));
+
+        StepVerifier.create(reactiveProductService.updateProduct(1L, productDTO, 2L))
+                .expectErrorMatches(e -> e instanceof ResponseStatusException
+                        && ((ResponseStatusException) e).getStatusCode() == HttpStatus.PRECONDITION_FAILED)
+                .verify();
+    }
+}
@@ -0,0 +1,108 @@
+package com.project.product_service.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.project.product_service.config.ProductServiceProperties;
+import com.project.product_service.metrics.ProductMetrics;
+
+@ExtendWith(MockitoExtension.class)
+public class RequestCoalescerTest {
+
+    @Mock
+    private ProductMetrics productMetrics;
+
+    private ProductServiceProperties properties;
+    private RequestCoalescer requestCoalescer;
+    // Leader and follower must run at the same time; the common pool may have a single worker.
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProductServiceProperties();
+        requestCoalescer = new RequestCoalescer(properties, productMetrics);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testExecute_ConcurrentCallersShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() ->
+                requestCoalescer.execute("findById", 1L, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "product";
+                }), executor);
+        verify(productMetrics, timeout(1000)).coalescing("findById", false);
+
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() ->
+                requestCoalescer.execute("findById", 1L, () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                }), executor);
+        verify(productMetrics, timeout(1000)).coalescing("findById", true);
+        release.countDown();
+
+        assertEquals("product", leader.get(1, TimeUnit.SECONDS));
+        assertEquals("product", follower.get(1, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testExecute_SequentialCallersLoadAgain() {
+        AtomicInteger loads = new AtomicInteger();
+
+        requestCoalescer.execute("findById", 1L, loads::incrementAndGet);
+        requestCoalescer.execute("findById", 1L, loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+        verify(productMetrics, times(2)).coalescing("findById", false);
+    }
+
+    @Test
+    void testExecute_LoaderExceptionIsRethrown() {
+        assertThrows(ElementNotFoundException.class, () -> {
+            requestCoalescer.execute("findById", 1L, () -> {
+                throw new ElementNotFoundException("Product with uuid 1 not found");
+            });
+        });
+    }
+
+    @Test
+    void testExecute_Disabled() {
+        properties.getCoalescing().setEnabled(false);
+
+        assertEquals("product", requestCoalescer.execute("findById", 1L, () -> "product"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
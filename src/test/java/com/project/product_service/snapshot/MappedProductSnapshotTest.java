@@ -0,0 +1,91 @@
+package com.project.product_service.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.project.product_service.dtos.ProductDTO;
+
+public class MappedProductSnapshotTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testWriteAndFind() throws IOException {
+        Path file = directory.resolve("products.bin");
+        Instant updatedAt = Instant.parse("2024-06-01T10:15:30.123Z");
+        List<ProductDTO> products = List.of(
+                product(1L, "Shoe", "Running shoe", "19.99", updatedAt),
+                product(5L, "Café", "", "0.01", updatedAt),
+                product(9L, "Hat", "Wool hat", "12345678.90", updatedAt));
+
+        int count = ProductSnapshotWriter.write(file, 42L, products.iterator());
+        MappedProductSnapshot snapshot = MappedProductSnapshot.open(file);
+
+        assertEquals(3, count);
+        assertEquals(3, snapshot.size());
+        assertEquals(42L, snapshot.getLastSeq());
+        for (ProductDTO expected : products) {
+            ProductDTO found = snapshot.find(expected.getId());
+            assertEquals(expected.getName(), found.getName());
+            assertEquals(expected.getDescription(), found.getDescription());
+            assertEquals(expected.getPrice(), found.getPrice());
+            assertEquals(expected.getVersion(), found.getVersion());
+            assertEquals(updatedAt, found.getUpdatedAt());
+        }
+        assertNull(snapshot.find(0L));
+        assertNull(snapshot.find(4L));
+        assertNull(snapshot.find(10L));
+    }
+
+    @Test
+    void testEmptyCatalog() throws IOException {
+        Path file = directory.resolve("products.bin");
+
+        ProductSnapshotWriter.write(file, 0L, Collections.emptyIterator());
+
+        assertNull(MappedProductSnapshot.open(file).find(1L));
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Path file = Files.write(directory.resolve("products.bin"), new byte[64]);
+
+        assertThrows(IOException.class, () -> MappedProductSnapshot.open(file));
+    }
+
+    @Test
+    void testRejectsTruncatedHeap() throws IOException {
+        Path file = directory.resolve("products.bin");
+        ProductSnapshotWriter.write(file, 0L, List.of(
+                product(1L, "Shoe", "Running shoe", "19.99", Instant.EPOCH)).iterator());
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThrows(IOException.class, () -> MappedProductSnapshot.open(file));
+    }
+
+    private static ProductDTO product(Long id, String name, String description, String price, Instant updatedAt) {
+        return ProductDTO.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .price(new BigDecimal(price))
+                .version(id * 2)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,276 @@
+package com.project.product_service.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.product_service.config.ProductServiceProperties;
+import com.project.product_service.dtos.ProductChangeDTO;
+import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.entities.ProductChange;
+import com.project.product_service.repositories.ProductChangeRepository;
+import com.project.product_service.repositories.ProductRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductSnapshotStoreTest {
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductChangeRepository productChangeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // Stands in for product_changes; findChangesAfter returns the entries after the given seq.
+    private final List<ProductChangeDTO> feed = new ArrayList<>();
+
+    private ProductServiceProperties properties;
+    private Path file;
+    private ProductSnapshotStore store;
+    private long modified;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("products.bin");
+        properties = new ProductServiceProperties();
+        properties.getSnapshot().setEnabled(true);
+        properties.getSnapshot().setWrite(false);
+        properties.getSnapshot().setPath(file);
+        store = new ProductSnapshotStore(properties, productRepository, productChangeRepository, transactionManager);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        lenient().when(productChangeRepository.findChangesAfter(anyLong(), any())).thenAnswer(invocation -> {
+            long since = invocation.getArgument(0);
+            return feed.stream().filter(change -> change.getSeq() > since).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void testReload_CatchesUpFromTheSnapshotPosition() throws IOException {
+        writeSnapshot(10L, product(1L, "Old", 0L));
+        feed.add(updated(11L, 1L, "New", 1L));
+
+        store.reloadSnapshot();
+
+        assertEquals("New", store.find(1L).getName());
+        assertNull(store.find(2L));
+    }
+
+    @Test
+    void testReload_OnlyWhenTheFileChanged() throws IOException {
+        writeSnapshot(10L, product(1L, "Old", 0L));
+        store.reloadSnapshot();
+        store.reloadSnapshot();
+
+        verify(productChangeRepository, times(1)).findChangesAfter(anyLong(), any());
+
+        writeSnapshot(10L, product(1L, "Old", 0L));
+        store.reloadSnapshot();
+
+        verify(productChangeRepository, times(2)).findChangesAfter(anyLong(), any());
+    }
+
+    @Test
+    void testReload_ReplacesTheOverlay() throws IOException {
+        writeSnapshot(10L, product(1L, "Old", 0L));
+        feed.add(created(11L, 2L, "Added"));
+        store.reloadSnapshot();
+
+        assertEquals(1, store.overlaySize());
+        assertEquals("Added", store.find(2L).getName());
+
+        writeSnapshot(11L, product(1L, "Old", 0L), product(2L, "Added", 0L));
+        store.reloadSnapshot();
+
+        assertEquals(0, store.overlaySize());
+        assertEquals("Added", store.find(2L).getName());
+    }
+
+    @Test
+    void testColdStart_FirstWrittenSnapshotIsCaughtUp() {
+        properties.getSnapshot().setWrite(true);
+        when(productChangeRepository.findLastSeq()).thenReturn(10L);
+        when(productRepository.streamAllProductDTOs()).thenReturn(Stream.of(product(1L, "Old", 0L)));
+        feed.add(updated(11L, 1L, "New", 1L));
+
+        assertNull(store.find(1L));
+
+        store.refreshSnapshot();
+
+        assertEquals("New", store.find(1L).getName());
+    }
+
+    @Test
+    void testColdStart_ReaderMapsTheFileOnceItAppears() throws IOException {
+        store.refreshSnapshot();
+
+        assertNull(store.find(1L));
+
+        writeSnapshot(10L, product(1L, "Old", 0L));
+        store.refreshSnapshot();
+
+        assertEquals("Old", store.find(1L).getName());
+    }
+
+    @Test
+    void testOwnWrite_ReadFromDatabaseUntilCaughtUp() throws IOException {
+        writeSnapshot(10L, product(1L, "Old", 0L));
+        store.reloadSnapshot();
+
+        store.invalidate(1L, 1L);
+        store.catchUp();
+
+        assertNull(store.find(1L));
+
+        feed.add(updated(11L, 1L, "New", 1L));
+        store.catchUp();
+
+        assertEquals("New", store.find(1L).getName());
+    }
+
+    @Test
+    void testOwnWrite_SurvivesASnapshotThatPredatesIt() throws IOException {
+        writeSnapshot(10L, product(1L, "Old", 0L));
+        store.reloadSnapshot();
+        store.invalidate(1L, 1L);
+
+        // Started before the write committed: neither the file nor the changes after it show it yet.
+        writeSnapshot(10L, product(1L, "Old", 0L));
+        store.reloadSnapshot();
+
+        assertNull(store.find(1L));
+
+        writeSnapshot(11L, product(1L, "New", 1L));
+        store.reloadSnapshot();
+
+        assertEquals("New", store.find(1L).getName());
+    }
+
+    @Test
+    void testOwnDelete_SettledByTheDeletedChange() throws IOException {
+        writeSnapshot(10L, product(1L, "Old", 0L));
+        store.reloadSnapshot();
+
+        store.invalidate(1L, null);
+        feed.add(deleted(11L, 1L));
+        feed.add(created(12L, 1L, "Imported"));
+        store.catchUp();
+
+        assertEquals("Imported", store.find(1L).getName());
+    }
+
+    @Test
+    void testOwnWrite_MarkedOnlyAfterCommit() throws IOException {
+        writeSnapshot(10L, product(1L, "Old", 0L));
+        store.reloadSnapshot();
+        TransactionSynchronizationManager.initSynchronization();
+
+        store.invalidate(1L, 1L);
+
+        assertEquals("Old", store.find(1L).getName());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertNull(store.find(1L));
+    }
+
+    @Test
+    void testOwnWrite_RolledBackLeavesNoMark() throws IOException {
+        writeSnapshot(10L, product(1L, "Old", 0L));
+        store.reloadSnapshot();
+        TransactionSynchronizationManager.initSynchronization();
+
+        store.invalidate(1L, 1L);
+        TransactionSynchronizationManager.clear();
+
+        assertEquals("Old", store.find(1L).getName());
+    }
+
+    @Test
+    void testRequiresChangeNotifications() {
+        properties.getCache().setListen(false);
+
+        assertThrows(IllegalStateException.class, store::afterSingletonsInstantiated);
+    }
+
+    // Each file gets a later modification time, as a rewrite would.
+    private void writeSnapshot(long lastSeq, ProductDTO... products) throws IOException {
+        ProductSnapshotWriter.write(file, lastSeq, List.of(products).iterator());
+        modified += 1000;
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified));
+    }
+
+    private static ProductDTO product(Long id, String name, Long version) {
+        return ProductDTO.builder()
+                .id(id)
+                .name(name)
+                .description("Description")
+                .price(BigDecimal.ONE)
+                .version(version)
+                .updatedAt(Instant.EPOCH)
+                .build();
+    }
+
+    private static ProductChangeDTO created(Long seq, Long id, String name) {
+        return change(seq, id, ProductChange.Operation.CREATED, name, 0L);
+    }
+
+    private static ProductChangeDTO updated(Long seq, Long id, String name, Long version) {
+        return change(seq, id, ProductChange.Operation.UPDATED, name, version);
+    }
+
+    private static ProductChangeDTO deleted(Long seq, Long id) {
+        return change(seq, id, ProductChange.Operation.DELETED, null, null);
+    }
+
+    private static ProductChangeDTO change(
+            Long seq, Long id, ProductChange.Operation operation, String name, Long version) {
+        return ProductChangeDTO.builder()
+                .seq(seq)
+                .productId(id)
+                .operation(operation)
+                .name(name)
+                .description(name == null ? null : "Description")
+                .price(name == null ? null : BigDecimal.ONE)
+                .version(version)
+                .changedAt(Instant.EPOCH)
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.project.product_service.support;
+
+import com.project.product_service.ProductServiceApplication;
+import com.project.product_service.dtos.ProductBatchItemDTO;
+import com.project.product_service.dtos.ProductDTO;
+import com.project.product_service.services.ProductService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the whole service against a throwaway, containerless PostgreSQL so benchmarks and
+ * load tests exercise the real SQL (pg_trgm included) instead of an in-memory stand-in.
+ */
+public class EmbeddedProductService implements AutoCloseable {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedProductService(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    public static EmbeddedProductService start(WebApplicationType webApplicationType, Map<String, Object> properties)
+            throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.start();
+        Map<String, Object> overrides = new HashMap<>();
+        overrides.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"));
+        overrides.put("spring.datasource.username", "postgres");
+        overrides.put("spring.datasource.password", "postgres");
+        // Only read when the reactive profile is active.
+        overrides.put("spring.r2dbc.url", "r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres");
+        overrides.put("spring.r2dbc.username", "postgres");
+        overrides.put("spring.r2dbc.password", "postgres");
+        overrides.put("spring.jpa.show-sql", "false");
+        overrides.put("server.port", "0");
+        overrides.put("logging.level.root", "warn");
+        overrides.put("logging.level.org.hibernate.SQL", "warn");
+        overrides.put("logging.level.org.hibernate.hibernate", "warn");
+        overrides.put("logging.level.org.hibernate.springframework", "warn");
+        overrides.putAll(properties);
+        // Passed as command-line arguments: default properties would lose to application.yml's datasource.
+        String[] args = overrides.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        try {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(ProductServiceApplication.class)
+                    .web(webApplicationType)
+                    .run(args);
+            return new EmbeddedProductService(postgres, context);
+        } catch (RuntimeException e) {
+            postgres.close();
+            throw e;
+        }
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public int getPort() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    // Inserts count products named "Product <n>" and returns their ids.
+    public List<Long> seed(int count) {
+        ProductService productService = getBean(ProductService.class);
+        List<Long> ids = new ArrayList<>(count);
+        for (int start = 0; start < count; start += SEED_BATCH_SIZE) {
+            List<ProductDTO> batch = new ArrayList<>(SEED_BATCH_SIZE);
+            for (int i = start; i < Math.min(count, start + SEED_BATCH_SIZE); i++) {
+                batch.add(ProductDTO.builder()
+                        .name("Product " + i)
+                        .description("Description of product " + i)
+                        .price(BigDecimal.valueOf(1 + i % 1000, 2))
+                        .build());
+            }
+            productService.addNewProducts(batch).getItems().stream()
+                    .map(ProductBatchItemDTO::getId)
+                    .forEach(ids::add);
+        }
+        return ids;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            context.close();
+        } finally {
+            postgres.close();
+        }
+    }
+}